@@ -5,14 +5,18 @@
 use App\Http\Controllers\Controller;
 use App\Models\Server;
 use App\Models\Vote;
+use Closure;
 use Illuminate\Http\JsonResponse;
 use Illuminate\Http\Request;
+use Illuminate\Support\Facades\Cache;
+use Illuminate\Support\Facades\DB;
 
 class VoteApiController extends Controller
 {
     /**
      * Get pending (unclaimed) votes for a server.
      * Returns a direct array for plugin compatibility.
+     * Supports incremental polling with `since` (last seen vote id) and ETag / If-None-Match.
      */
     public function pending(Request $request, Server $server): JsonResponse
     {
@@ -30,17 +34,24 @@ public function pending(Request $request, Server $server): JsonResponse
         // Filter by player UUID if provided
         $query = $server->votes()
             ->unclaimed()
-            ->orderBy('created_at', 'asc')
             ->limit(100);
 
         if ($request->has('player')) {
             $query->where('minecraft_uuid', $request->get('player'));
         }
 
+        // Incremental polling: only votes newer than the client's cursor
+        if ($request->filled('since')) {
+            $query->where('id', '>', (int) $request->get('since'))
+                ->orderBy('id', 'asc');
+        } else {
+            $query->orderBy('created_at', 'asc');
+        }
+
         $votes = $query->get();
 
         // Return direct array for plugin compatibility
-        return response()->json($votes->map(fn ($vote) => [
+        $response = response()->json($votes->map(fn ($vote) => [
             'id' => (string) $vote->id,
             'player_uuid' => $vote->minecraft_uuid,
             'player_name' => $vote->minecraft_username,
@@ -49,6 +60,12 @@ public function pending(Request $request, Server $server): JsonResponse
             'claimed' => (bool) $vote->claimed,
             'rewards' => [],
         ])->values());
+
+        // Answers 304 Not Modified when the client already has this exact list
+        $response->setEtag(md5($response->getContent()));
+        $response->isNotModified($request);
+
+        return $response;
     }
 
     /**
@@ -67,48 +84,219 @@ public function claim(Request $request, Vote $vote): JsonResponse
             ], 403);
         }
 
-        // Check if already claimed
-        if ($vote->claimed) {
+        return $this->idempotent($request, $authenticatedServer, fn () => DB::transaction(function () use ($vote) {
+            // Lock the row so concurrent claims of the same vote are serialized
+            $vote = Vote::whereKey($vote->id)->lockForUpdate()->first();
+
+            // Check if already claimed
+            if ($vote->claimed) {
+                return response()->json([
+                    'success' => false,
+                    'message' => 'Vote already claimed',
+                ], 409);
+            }
+
+            // Get earned rewards from pre-calculated list (set at vote time)
+            $earnedRewardIds = $vote->earned_rewards ?? [];
+
+            // Get full reward data for the earned rewards
+            $earnedRewards = $vote->server->rewards()
+                ->whereIn('id', $earnedRewardIds)
+                ->active()
+                ->orderBy('sort_order')
+                ->get();
+
+            // Process commands with placeholder replacement
+            $commands = $earnedRewards->flatMap(function ($reward) use ($vote) {
+                return $reward->getProcessedCommands($vote->minecraft_username);
+            })->toArray();
+
+            // Mark as claimed
+            $vote->markAsClaimed($earnedRewards->pluck('id')->toArray());
+
             return response()->json([
-                'success' => false,
-                'message' => 'Vote already claimed',
-            ], 409);
+                'success' => true,
+                'message' => 'Vote claimed successfully',
+                'data' => [
+                    'vote_id' => $vote->id,
+                    'minecraft_username' => $vote->minecraft_username,
+                    'rewards' => $earnedRewards->map(fn ($r) => [
+                        'id' => $r->id,
+                        'name' => $r->name,
+                        'type' => $r->reward_type->value,
+                    ]),
+                    'commands' => $commands,
+                    'streak' => $vote->streak,
+                ],
+            ]);
+        }));
+    }
+
+    /**
+     * Claim several votes in one request.
+     * Returns one result per requested vote, in request order.
+     * Each vote may carry its own idempotency key: a vote sent again, in any batch,
+     * receives the result of its first claim instead of "already claimed".
+     */
+    public function claimBatch(Request $request): JsonResponse
+    {
+        // Get the authenticated server from middleware
+        $authenticatedServer = $request->attributes->get('server');
+
+        $validated = $request->validate([
+            'vote_ids' => ['required', 'array', 'max:100'],
+            'vote_ids.*' => ['integer'],
+            'idempotency_keys' => ['sometimes', 'array'],
+            'idempotency_keys.*' => ['string', 'max:255'],
+        ]);
+
+        $storedKeys = [];
+
+        try {
+            return DB::transaction(fn () => $this->claimVotes(
+                $authenticatedServer,
+                $validated['vote_ids'],
+                $validated['idempotency_keys'] ?? [],
+                $storedKeys
+            ));
+        } catch (\Throwable $e) {
+            // The claims were rolled back: their stored results must not be replayed
+            foreach ($storedKeys as $cacheKey) {
+                Cache::forget($cacheKey);
+            }
+
+            throw $e;
         }
+    }
 
-        // Get earned rewards from pre-calculated list (set at vote time)
-        $earnedRewardIds = $vote->earned_rewards ?? [];
+    /**
+     * Claim the given votes of a server, one result per vote in request order.
+     * Must run inside a transaction: the vote rows stay locked until it commits.
+     * Results of votes with an idempotency key are stored while the rows are locked,
+     * so a concurrent duplicate waiting on the lock always finds them.
+     */
+    private function claimVotes(Server $server, array $voteIds, array $idempotencyKeys, array &$storedKeys): JsonResponse
+    {
+        // Only votes belonging to the authenticated server can be claimed
+        $votes = $server->votes()
+            ->whereIn('id', $voteIds)
+            ->lockForUpdate()
+            ->get()
+            ->keyBy('id');
 
-        // Get full reward data for the earned rewards
-        $earnedRewards = $vote->server->rewards()
-            ->whereIn('id', $earnedRewardIds)
+        $rewards = $server->rewards()
             ->active()
             ->orderBy('sort_order')
             ->get();
 
-        // Process commands with placeholder replacement
-        $commands = $earnedRewards->flatMap(function ($reward) use ($vote) {
-            return $reward->getProcessedCommands($vote->minecraft_username);
-        })->toArray();
+        $results = collect($voteIds)->map(function ($voteId) use ($server, $votes, $rewards, $idempotencyKeys, &$storedKeys) {
+            $key = $idempotencyKeys[$voteId] ?? null;
 
-        // Mark as claimed
-        $vote->markAsClaimed($earnedRewards->pluck('id')->toArray());
+            if (! $key) {
+                return $this->claimVoteResult($votes->get((int) $voteId), $voteId, $rewards);
+            }
+
+            $cacheKey = 'claim-result:'.$server->id.':'.$key;
+            $stored = Cache::get($cacheKey);
+
+            if ($stored) {
+                return $stored + ['replayed' => true];
+            }
+
+            $result = $this->claimVoteResult($votes->get((int) $voteId), $voteId, $rewards);
+            Cache::put($cacheKey, $result, now()->addDay());
+            $storedKeys[] = $cacheKey;
+
+            return $result;
+        });
 
         return response()->json([
             'success' => true,
-            'message' => 'Vote claimed successfully',
+            'message' => 'Batch claim processed',
             'data' => [
-                'vote_id' => $vote->id,
-                'minecraft_username' => $vote->minecraft_username,
-                'rewards' => $earnedRewards->map(fn ($r) => [
-                    'id' => $r->id,
-                    'name' => $r->name,
-                    'type' => $r->reward_type->value,
-                ]),
-                'commands' => $commands,
+                'results' => $results->values(),
             ],
         ]);
     }
 
+    /**
+     * Claim one vote of a batch and describe the outcome.
+     */
+    private function claimVoteResult(?Vote $vote, $voteId, $rewards): array
+    {
+        if (! $vote) {
+            return [
+                'vote_id' => (int) $voteId,
+                'success' => false,
+                'message' => 'Vote not found',
+                'commands' => [],
+            ];
+        }
+
+        if ($vote->claimed) {
+            return [
+                'vote_id' => $vote->id,
+                'success' => false,
+                'message' => 'Vote already claimed',
+                'commands' => [],
+            ];
+        }
+
+        $earnedRewards = $rewards->whereIn('id', $vote->earned_rewards ?? [])->values();
+
+        $commands = $earnedRewards->flatMap(function ($reward) use ($vote) {
+            return $reward->getProcessedCommands($vote->minecraft_username);
+        })->values()->toArray();
+
+        $vote->markAsClaimed($earnedRewards->pluck('id')->toArray());
+
+        return [
+            'vote_id' => $vote->id,
+            'success' => true,
+            'message' => 'Vote claimed successfully',
+            'minecraft_username' => $vote->minecraft_username,
+            'commands' => $commands,
+            'streak' => $vote->streak,
+        ];
+    }
+
+    /**
+     * Run a claim at most once per Idempotency-Key.
+     * Retries and hedged duplicates of a request wait for the first one to finish,
+     * then receive its stored response instead of claiming again.
+     */
+    private function idempotent(Request $request, Server $server, Closure $handler): JsonResponse
+    {
+        $key = $request->header('Idempotency-Key');
+
+        if (! $key) {
+            return $handler();
+        }
+
+        $cacheKey = 'claim-idempotency:'.$server->id.':'.$key;
+
+        return Cache::lock($cacheKey.':lock', 30)->block(10, function () use ($cacheKey, $handler) {
+            $stored = Cache::get($cacheKey);
+
+            if ($stored) {
+                return response()->json($stored['body'], $stored['status'])
+                    ->header('Idempotent-Replayed', 'true');
+            }
+
+            $response = $handler();
+
+            // Server errors are not stored so that the client can retry them
+            if ($response->getStatusCode() < 500) {
+                Cache::put($cacheKey, [
+                    'status' => $response->getStatusCode(),
+                    'body' => $response->getData(true),
+                ], now()->addDay());
+            }
+
+            return $response;
+        });
+    }
+
     /**
      * Get all unclaimed votes for bulk processing.
      * Returns a direct array for plugin compatibility.
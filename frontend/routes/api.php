@@ -30,6 +30,8 @@
             ->name('servers.votes.bulk');
         Route::post('votes/{vote}/claim', [VoteApiController::class, 'claim'])
             ->name('votes.claim');
+        Route::post('votes/claim', [VoteApiController::class, 'claimBatch'])
+            ->name('votes.claim.batch');
 
         // Server stats endpoints
         Route::post('servers/{server}/stats', [ServerStatsController::class, 'update'])
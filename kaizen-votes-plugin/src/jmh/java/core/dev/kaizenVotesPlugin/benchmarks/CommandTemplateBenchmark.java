@@ -0,0 +1,70 @@
+package core.dev.kaizenVotesPlugin.benchmarks;
+
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import core.dev.kaizenVotesPlugin.rewards.CommandTemplate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Substitution des placeholders des commandes de récompense (RewardManager),
+ * pour un claim de N commandes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandTemplateBenchmark {
+
+    private static final String[] COMMAND_POOL = {
+            "give {player} diamond 1",
+            "eco give {player} 100",
+            "lp user {uuid} permission settemp kaizen.voter true 1d",
+            "broadcast {player} a vote sur {service} (serie de {streak} jours)",
+            "say vote {vote_id} recu a {timestamp}"
+    };
+
+    @Param({"1", "20"})
+    public int commandCount;
+
+    private String[] commands;
+    private String playerName;
+    private String playerUuid;
+    private VoteEvent vote;
+
+    @Setup
+    public void setup() {
+        commands = new String[commandCount];
+        for (int i = 0; i < commandCount; i++) {
+            commands[i] = COMMAND_POOL[i % COMMAND_POOL.length];
+        }
+
+        playerName = "Notch";
+        playerUuid = UUID.randomUUID().toString();
+
+        vote = new VoteEvent();
+        vote.setId("123456");
+        vote.setPlayerName(playerName);
+        vote.setPlayerUuid(playerUuid);
+        vote.setServiceName("Kaizen Votes");
+        vote.setTimestamp(1_700_000_000_000L);
+    }
+
+    @Benchmark
+    public String[] compiled() {
+        return CommandTemplate.renderAll(commands, CommandTemplate.Context.of(playerName, playerUuid, vote, 7));
+    }
+
+    @Benchmark
+    public String[] chainedReplace() {
+        String[] rendered = new String[commands.length];
+        for (int i = 0; i < commands.length; i++) {
+            rendered[i] = commands[i].replace("{player}", playerName)
+                    .replace("{uuid}", playerUuid);
+        }
+        return rendered;
+    }
+}
@@ -0,0 +1,84 @@
+package core.dev.kaizenVotesPlugin.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import core.dev.kaizenVotesPlugin.api.models.ClaimResponse;
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Décodage Gson des réponses de l'API: liste de votes en attente (tableau complet
+ * et lecture en flux) et réponse de claim.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonDecodeBenchmark {
+
+    @Param({"10", "1000"})
+    public int voteCount;
+
+    // Même configuration que KaizenApiClient
+    private Gson gson;
+    private String votesJson;
+    private String claimJson;
+
+    @Setup
+    public void setup() {
+        gson = new GsonBuilder()
+                .setDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+                .create();
+
+        StringBuilder votes = new StringBuilder("[");
+        for (int i = 0; i < voteCount; i++) {
+            if (i > 0) {
+                votes.append(',');
+            }
+            votes.append("{\"id\":\"").append(100_000 + i)
+                    .append("\",\"player_uuid\":\"").append(UUID.randomUUID())
+                    .append("\",\"player_name\":\"Player").append(i)
+                    .append("\",\"service_name\":\"Kaizen Votes\",\"timestamp\":").append(1_700_000_000_000L + i)
+                    .append(",\"claimed\":false,\"rewards\":[]}");
+        }
+        votesJson = votes.append(']').toString();
+
+        claimJson = "{\"success\":true,\"message\":\"Vote claimed successfully\",\"data\":{"
+                + "\"vote_id\":123456,\"minecraft_username\":\"Notch\",\"streak\":7,"
+                + "\"rewards\":[{\"id\":1,\"name\":\"Diamant\",\"type\":\"command\"}],"
+                + "\"commands\":[\"give Notch diamond 1\",\"eco give Notch 100\"]}}";
+    }
+
+    @Benchmark
+    public VoteEvent[] voteArray() {
+        return gson.fromJson(votesJson, VoteEvent[].class);
+    }
+
+    @Benchmark
+    public int voteArrayStreaming(Blackhole blackhole) throws IOException {
+        int count = 0;
+        try (JsonReader reader = gson.newJsonReader(new StringReader(votesJson))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                blackhole.consume(gson.fromJson(reader, VoteEvent.class));
+                count++;
+            }
+            reader.endArray();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public ClaimResponse claimResponse() {
+        return gson.fromJson(claimJson, ClaimResponse.class);
+    }
+}
@@ -0,0 +1,59 @@
+package core.dev.kaizenVotesPlugin.benchmarks;
+
+import core.dev.kaizenVotesPlugin.config.MessageTemplate;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendu des messages (LanguageManager.getMessage): table de templates compilés,
+ * comparée à l'ancien chemin remplacement de chaînes + désérialisation legacy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+
+    private static final String PREFIX = "&8[&6Kaizen&8] &r";
+    private static final String VOTE_RECEIVED = "&a{player} &7a vote pour le serveur! &eMerci!";
+    private static final String VOTE_REMINDER = "&eTu peux voter pour le serveur! Tape &b/vote";
+
+    private Map<String, MessageTemplate> templates;
+    private Map<String, String> placeholders;
+
+    @Setup
+    public void setup() {
+        templates = new HashMap<>();
+        templates.put("vote-received", MessageTemplate.compile(PREFIX + VOTE_RECEIVED));
+        templates.put("vote-reminder", MessageTemplate.compile(PREFIX + VOTE_REMINDER));
+
+        placeholders = new HashMap<>();
+        placeholders.put("player", "Notch");
+    }
+
+    @Benchmark
+    public Component voteReceivedCompiled() {
+        return templates.get("vote-received").render(placeholders);
+    }
+
+    @Benchmark
+    public Component voteReminderCompiled() {
+        return templates.get("vote-reminder").render(null);
+    }
+
+    @Benchmark
+    public Component voteReceivedLegacy() {
+        String message = PREFIX + VOTE_RECEIVED;
+        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+            message = message.replace("{" + entry.getKey() + "}", entry.getValue());
+        }
+        return LegacyComponentSerializer.legacyAmpersand().deserialize(message);
+    }
+}
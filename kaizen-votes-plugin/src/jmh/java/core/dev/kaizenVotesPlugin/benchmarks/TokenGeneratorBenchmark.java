@@ -0,0 +1,33 @@
+package core.dev.kaizenVotesPlugin.benchmarks;
+
+import core.dev.kaizenVotesPlugin.utils.TokenGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Création d'un pairing (code + token de validation via SecureRandom)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenGeneratorBenchmark {
+
+    private TokenGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new TokenGenerator();
+    }
+
+    @Benchmark
+    public TokenGenerator.PairingData createPairing() {
+        TokenGenerator.PairingData data = generator.createPairing("127.0.0.1", 25565);
+        // Garder la table des pairings en attente à taille constante
+        generator.cancelPairing(data.code);
+        return data;
+    }
+}
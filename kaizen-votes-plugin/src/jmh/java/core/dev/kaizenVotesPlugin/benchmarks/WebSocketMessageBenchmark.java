@@ -0,0 +1,50 @@
+package core.dev.kaizenVotesPlugin.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import core.dev.kaizenVotesPlugin.api.WebSocketMessage;
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traitement d'une trame WebSocket (KaizenWebSocketClient.handleMessage) sans la
+ * remise au thread principal: décodage de l'enveloppe puis du vote.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketMessageBenchmark {
+
+    private static final String VOTE_FRAME = "{\"type\":\"vote.received\",\"data\":{"
+            + "\"id\":\"123456\",\"player_uuid\":\"069a79f4-44e9-4726-a5be-fca90e38aaf5\","
+            + "\"player_name\":\"Notch\",\"service_name\":\"Kaizen Votes\","
+            + "\"timestamp\":1700000000000,\"claimed\":false,\"rewards\":[]}}";
+
+    private static final String PING_FRAME = "{\"type\":\"ping\"}";
+
+    // Même configuration que KaizenWebSocketClient
+    private Gson gson;
+
+    @Setup
+    public void setup() {
+        gson = new GsonBuilder()
+                .setDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+                .create();
+    }
+
+    @Benchmark
+    public VoteEvent voteReceived() {
+        WebSocketMessage message = WebSocketMessage.parse(VOTE_FRAME);
+        return message.decode(gson, VoteEvent.class);
+    }
+
+    @Benchmark
+    public String ping() {
+        return WebSocketMessage.parse(PING_FRAME).getType();
+    }
+}
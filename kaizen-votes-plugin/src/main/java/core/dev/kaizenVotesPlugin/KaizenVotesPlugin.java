@@ -8,9 +8,15 @@ import core.dev.kaizenVotesPlugin.commands.VoteCommand;
 import core.dev.kaizenVotesPlugin.commands.VoteTopCommand;
 import core.dev.kaizenVotesPlugin.config.ConfigManager;
 import core.dev.kaizenVotesPlugin.config.LanguageManager;
+import core.dev.kaizenVotesPlugin.listeners.OnlinePlayerIndex;
 import core.dev.kaizenVotesPlugin.listeners.PlayerJoinListener;
+import core.dev.kaizenVotesPlugin.metrics.OpenMetricsServer;
+import core.dev.kaizenVotesPlugin.metrics.VoteMetrics;
+import core.dev.kaizenVotesPlugin.rewards.PendingVoteStore;
 import core.dev.kaizenVotesPlugin.rewards.RewardManager;
+import core.dev.kaizenVotesPlugin.stats.LeaderboardCache;
 import core.dev.kaizenVotesPlugin.stats.ServerStatsCollector;
+import core.dev.kaizenVotesPlugin.utils.AsyncExecutor;
 import core.dev.kaizenVotesPlugin.utils.TokenGenerator;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -29,7 +35,13 @@ public final class KaizenVotesPlugin extends JavaPlugin {
     private KaizenApiClient apiClient;
     private KaizenWebSocketClient webSocketClient;
     private RewardManager rewardManager;
+    private PendingVoteStore pendingVoteStore;
     private ServerStatsCollector statsCollector;
+    private LeaderboardCache leaderboardCache;
+    private VoteMetrics voteMetrics;
+    private OpenMetricsServer metricsServer;
+    private AsyncExecutor asyncExecutor;
+    private OnlinePlayerIndex onlinePlayers;
 
     @Override
     public void onEnable() {
@@ -50,6 +62,19 @@ public final class KaizenVotesPlugin extends JavaPlugin {
         languageManager.load(configManager.getLanguage());
         getLogger().info("✓ Langue chargée: " + languageManager.getCurrentLanguage());
 
+        // 1.6. Metrics
+        voteMetrics = new VoteMetrics();
+
+        // 1.7. Exécuteur asynchrone
+        asyncExecutor = new AsyncExecutor(this, configManager.isVirtualThreadsEnabled());
+        if (asyncExecutor.isVirtual()) {
+            getLogger().info("✓ Threads virtuels activés");
+        }
+
+        // 1.8. Index des joueurs en ligne (joueurs déjà connectés en cas de reload)
+        onlinePlayers = new OnlinePlayerIndex();
+        onlinePlayers.addAll(getServer().getOnlinePlayers());
+
         // 2. Token Generator
         tokenGenerator = new TokenGenerator();
         getLogger().info("✓ Générateur de tokens initialisé");
@@ -71,10 +96,21 @@ public final class KaizenVotesPlugin extends JavaPlugin {
         rewardManager = new RewardManager(this);
         getLogger().info("✓ Gestionnaire de récompenses initialisé");
 
+        // 5.5. Pending Vote Store
+        pendingVoteStore = new PendingVoteStore(this);
+        getLogger().info("✓ Cache des votes en attente initialisé");
+
         // 6. Stats Collector
         statsCollector = new ServerStatsCollector(this);
         getLogger().info("✓ Collecteur de statistiques initialisé");
 
+        // 6.5. Leaderboard Cache
+        leaderboardCache = new LeaderboardCache(this, VoteTopCommand.ENTRIES_PER_PAGE);
+
+        // 7. Metrics endpoint (si activé)
+        metricsServer = new OpenMetricsServer(this);
+        metricsServer.start();
+
         // Enregistrer les commandes
         registerCommands();
         getLogger().info("✓ Commandes enregistrées");
@@ -90,6 +126,9 @@ public final class KaizenVotesPlugin extends JavaPlugin {
                 webSocketClient.connect();
             }
             statsCollector.start();
+
+            // Reprendre les claims interrompus des joueurs déjà connectés (reload)
+            rewardManager.recoverOnlinePlayers();
         } else {
             getLogger().info("Serveur non lié. Utilisez /kaizen link pour connecter.");
         }
@@ -101,6 +140,11 @@ public final class KaizenVotesPlugin extends JavaPlugin {
     public void onDisable() {
         getLogger().info("Arrêt de Kaizen Votes...");
 
+        // Arrêter l'endpoint de métriques
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+
         // Arrêter le collecteur de stats
         if (statsCollector != null) {
             statsCollector.stop();
@@ -111,11 +155,21 @@ public final class KaizenVotesPlugin extends JavaPlugin {
             webSocketClient.disconnect();
         }
 
+        // Exécuter les commandes de récompense encore en file
+        if (rewardManager != null) {
+            rewardManager.shutdown();
+        }
+
         // Fermer le client HTTP
         if (apiClient != null) {
             apiClient.shutdown();
         }
 
+        // Arrêter l'exécuteur asynchrone
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+        }
+
         getLogger().info("Kaizen Votes désactivé.");
         instance = null;
     }
@@ -150,6 +204,7 @@ public final class KaizenVotesPlugin extends JavaPlugin {
      * Enregistre les listeners
      */
     private void registerListeners() {
+        getServer().getPluginManager().registerEvents(onlinePlayers, this);
         getServer().getPluginManager().registerEvents(new PlayerJoinListener(this), this);
     }
 
@@ -159,13 +214,20 @@ public final class KaizenVotesPlugin extends JavaPlugin {
     private void setupWebSocketHandlers() {
         webSocketClient
                 .onVoteReceived(vote -> {
+                    // Déjà reçu par le polling de secours
+                    if (!statsCollector.acceptWebSocketVote(vote)) {
+                        return;
+                    }
                     getLogger().info("Vote reçu de " + vote.getPlayerName());
+                    voteMetrics.voteReceivedFromWebSocket();
                     rewardManager.processIncomingVote(vote);
                 })
                 .onConnected(() -> {
                     getLogger().info("WebSocket connecté au backend Kaizen");
                     // Démarrer la sync des stats si pas déjà fait
-                    statsCollector.start();
+                    if (!statsCollector.isStarted()) {
+                        statsCollector.start();
+                    }
                 })
                 .onDisconnected(reason -> {
                     getLogger().warning("WebSocket déconnecté: " + reason);
@@ -205,7 +267,27 @@ public final class KaizenVotesPlugin extends JavaPlugin {
         return rewardManager;
     }
 
+    public PendingVoteStore getPendingVoteStore() {
+        return pendingVoteStore;
+    }
+
     public ServerStatsCollector getStatsCollector() {
         return statsCollector;
     }
+
+    public LeaderboardCache getLeaderboardCache() {
+        return leaderboardCache;
+    }
+
+    public VoteMetrics getVoteMetrics() {
+        return voteMetrics;
+    }
+
+    public AsyncExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public OnlinePlayerIndex getOnlinePlayers() {
+        return onlinePlayers;
+    }
 }
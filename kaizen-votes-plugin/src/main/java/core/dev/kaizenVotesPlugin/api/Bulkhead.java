@@ -0,0 +1,93 @@
+package core.dev.kaizenVotesPlugin.api;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Limite de concurrence d'une classe d'endpoints: au-delà de la limite, les appels
+ * attendent dans une file bornée et sont lancés dès qu'un appel en cours se termine.
+ * Une file pleine fait échouer l'appel immédiatement.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+    private int active = 0;
+    private long rejected = 0;
+
+    public Bulkhead(int maxConcurrent, int maxQueued) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueued = Math.max(0, maxQueued);
+    }
+
+    /**
+     * Lance l'appel dès qu'une place est libre
+     * @return Le résultat de l'appel, ou null si la file d'attente est pleine
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (Exception e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((value, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+
+        synchronized (this) {
+            if (active >= maxConcurrent) {
+                if (waiting.size() >= maxQueued) {
+                    rejected++;
+                    return null;
+                }
+                waiting.add(start);
+                return result;
+            }
+            active++;
+        }
+        start.run();
+        return result;
+    }
+
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                active--;
+                return;
+            }
+        }
+        // La place libérée passe directement à l'appel suivant
+        next.run();
+    }
+
+    public synchronized int getActive() {
+        return active;
+    }
+
+    public synchronized int getQueued() {
+        return waiting.size();
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+}
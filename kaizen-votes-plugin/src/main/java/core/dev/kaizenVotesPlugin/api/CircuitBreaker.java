@@ -0,0 +1,196 @@
+package core.dev.kaizenVotesPlugin.api;
+
+/**
+ * Circuit breaker sur une fenêtre glissante des derniers appels.
+ * Le circuit s'ouvre quand la part d'échecs (erreur réseau, 5xx, 429 ou appel plus lent
+ * que le seuil) dépasse le taux configuré; les appels échouent alors immédiatement.
+ * Après la durée d'ouverture, un seul appel de test est autorisé (semi-ouvert):
+ * son succès referme le circuit, son échec le rouvre. Chaque appel autorisé reçoit un
+ * jeton à rendre avec son résultat; les appels partis avant un changement d'état sont ignorés.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    // Taille de la fenêtre glissante et nombre d'appels minimum avant de pouvoir s'ouvrir
+    private static final int WINDOW_SIZE = 20;
+    private static final int MINIMUM_CALLS = 10;
+
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openDurationMillis;
+
+    private final boolean[] outcomes = new boolean[WINDOW_SIZE];
+    private int recorded = 0;
+    private int next = 0;
+    private int failures = 0;
+
+    private State state = State.CLOSED;
+    private long openedAt = 0;
+    private boolean probeInFlight = false;
+    private long timesOpened = 0;
+
+    // Incrémenté à chaque changement d'état
+    private long epoch = 0;
+    private Permit closedPermit = new Permit(0, false);
+
+    /**
+     * @param failureRatePercent Taux d'échecs (en %) au-delà duquel le circuit s'ouvre
+     * @param slowCallMillis Durée au-delà de laquelle un appel compte comme un échec
+     * @param openDurationMillis Durée d'ouverture avant l'appel de test
+     */
+    public CircuitBreaker(int failureRatePercent, long slowCallMillis, long openDurationMillis) {
+        this.failureRateThreshold = Math.max(1, Math.min(100, failureRatePercent)) / 100.0;
+        this.slowCallNanos = Math.max(1L, slowCallMillis) * 1_000_000L;
+        this.openDurationMillis = Math.max(1L, openDurationMillis);
+    }
+
+    /**
+     * Demande l'autorisation d'envoyer un appel
+     * @return Jeton à passer à record ou cancel, null si le circuit est ouvert
+     *         (ou si l'appel de test est déjà parti)
+     */
+    public synchronized Permit tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMillis) {
+                return null;
+            }
+            halfOpen();
+        }
+        if (state == State.HALF_OPEN) {
+            return acquireProbe();
+        }
+        return closedPermit;
+    }
+
+    /**
+     * Autorise l'appel de test s'il n'est pas déjà parti
+     */
+    private Permit acquireProbe() {
+        if (probeInFlight) {
+            return null;
+        }
+        probeInFlight = true;
+        return new Permit(epoch, true);
+    }
+
+    /**
+     * Enregistre le résultat d'un appel autorisé.
+     * Seul l'appel de test referme ou rouvre un circuit semi-ouvert.
+     * @param permit Jeton reçu de tryAcquire
+     * @param failed Erreur réseau ou réponse signalant un backend en difficulté
+     * @param durationNanos Durée de l'appel
+     */
+    public synchronized void record(Permit permit, boolean failed, long durationNanos) {
+        if (permit.epoch != epoch) {
+            // Appel parti avant un changement d'état
+            return;
+        }
+        boolean failure = failed || durationNanos >= slowCallNanos;
+
+        if (permit.probe) {
+            probeInFlight = false;
+            if (failure) {
+                open();
+            } else {
+                close();
+            }
+            return;
+        }
+
+        if (recorded == WINDOW_SIZE && outcomes[next]) {
+            failures--;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % WINDOW_SIZE;
+        recorded = Math.min(WINDOW_SIZE, recorded + 1);
+
+        if (recorded >= MINIMUM_CALLS && failures >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    /**
+     * Abandonne un appel autorisé sans l'envoyer (libère l'appel de test)
+     */
+    public synchronized void cancel(Permit permit) {
+        if (permit.probe && permit.epoch == epoch) {
+            probeInFlight = false;
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        timesOpened++;
+        epoch++;
+    }
+
+    private void halfOpen() {
+        state = State.HALF_OPEN;
+        probeInFlight = false;
+        epoch++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        epoch++;
+        closedPermit = new Permit(epoch, false);
+    }
+
+    public synchronized State getState() {
+        // Ouvert mais prêt pour l'appel de test
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMillis) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * Temps restant avant l'appel de test (0 si le circuit n'est pas ouvert)
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openDurationMillis - (System.currentTimeMillis() - openedAt));
+    }
+
+    /**
+     * Part d'échecs dans la fenêtre courante (entre 0 et 1)
+     */
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0 : failures / (double) recorded;
+    }
+
+    /**
+     * Nombre d'ouvertures du circuit
+     */
+    public synchronized long getTimesOpened() {
+        return timesOpened;
+    }
+
+    /**
+     * Autorisation d'un appel, à rendre avec son résultat
+     */
+    public static final class Permit {
+        private final long epoch;
+        private final boolean probe;
+
+        private Permit(long epoch, boolean probe) {
+            this.epoch = epoch;
+            this.probe = probe;
+        }
+
+        /**
+         * Vrai pour l'appel de test d'un circuit semi-ouvert
+         */
+        public boolean isProbe() { return probe; }
+    }
+}
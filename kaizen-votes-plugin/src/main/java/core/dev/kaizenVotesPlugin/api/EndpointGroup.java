@@ -0,0 +1,82 @@
+package core.dev.kaizenVotesPlugin.api;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Classes d'endpoints du backend: chaque classe a son propre circuit breaker,
+ * sa propre limite de concurrence et son propre débit, pour qu'une classe lente
+ * ou bavarde n'affame pas les autres
+ */
+public enum EndpointGroup {
+    /** Claims de votes (priorité aux récompenses des joueurs) */
+    CLAIMS("claims", 16, false, 0),
+    /** Récupération des votes en attente (polling, cache) */
+    POLLING("polling", 2, false, 1),
+    /** Pairing du serveur (/kaizen link): action d'un administrateur, jamais abandonnée */
+    PAIRING("pairing", 1, false, 1),
+    /** Envoi des statistiques et statut du serveur */
+    STATS("stats", 1, true, 2),
+    /** Classement */
+    LEADERBOARD("leaderboard", 4, true, 3),
+    /** Lien de vote */
+    GENERAL("general", 4, true, 2);
+
+    private static final List<EndpointGroup> BY_PRIORITY = Arrays.stream(values())
+            .sorted(Comparator.comparingInt(EndpointGroup::getPriority))
+            .toList();
+
+    private final String key;
+    private final int defaultConcurrency;
+    private final boolean staleFallbackAllowed;
+    private final int priority;
+
+    EndpointGroup(String key, int defaultConcurrency, boolean staleFallbackAllowed, int priority) {
+        this.key = key;
+        this.defaultConcurrency = defaultConcurrency;
+        this.staleFallbackAllowed = staleFallbackAllowed;
+        this.priority = priority;
+    }
+
+    /**
+     * Nom utilisé dans la configuration et les métriques
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public int getDefaultConcurrency() {
+        return defaultConcurrency;
+    }
+
+    /**
+     * Vrai si une lecture peut être servie depuis sa dernière réponse valide quand le circuit est ouvert
+     * (jamais pour les votes: une liste périmée provoquerait des claims inutiles)
+     */
+    public boolean isStaleFallbackAllowed() {
+        return staleFallbackAllowed;
+    }
+
+    /**
+     * Priorité face à la limite de débit (0 = la plus haute)
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Vrai si une requête peut être abandonnée sous pression plutôt qu'attendre
+     * (stats, classement, lien de vote: jamais les claims, le polling des votes ni le pairing)
+     */
+    public boolean isDroppable() {
+        return priority >= 2;
+    }
+
+    /**
+     * Classes triées de la plus prioritaire à la moins prioritaire
+     */
+    public static List<EndpointGroup> byPriority() {
+        return BY_PRIORITY;
+    }
+}
@@ -2,15 +2,33 @@ package core.dev.kaizenVotesPlugin.api;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
 import core.dev.kaizenVotesPlugin.api.models.*;
 import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import core.dev.kaizenVotesPlugin.metrics.ApiMetrics;
+import core.dev.kaizenVotesPlugin.metrics.RollingLatencyHistogram;
 import okhttp3.*;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Client HTTP pour communiquer avec l'API Kaizen
@@ -21,8 +39,39 @@ public class KaizenApiClient {
     private final ConfigManager config;
     private final OkHttpClient httpClient;
     private final Gson gson;
+    private final ApiMetrics metrics = new ApiMetrics();
+
+    // GET en cours (ou récents) par URL, partagés entre les appelants
+    private final Map<String, SharedGet> sharedGets = new ConcurrentHashMap<>();
 
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final int MAX_SHARED_GETS = 256;
+    private static final int MAX_LAST_GOOD_RESPONSES = 64;
+
+    // Nouvelles tentatives de claim: 500ms, 1s, 2s... plafonné à 8s
+    private static final long CLAIM_RETRY_BASE_DELAY_MILLIS = 500L;
+    private static final long CLAIM_RETRY_MAX_DELAY_MILLIS = 8_000L;
+    // Hedging: p95 des claims réussis des 1 à 2 dernières minutes, significatif à partir de 20 claims, jamais avant 50ms
+    private static final long HEDGE_LATENCY_WINDOW_MILLIS = 60_000L;
+    private static final int HEDGE_MIN_SAMPLES = 20;
+    private static final long HEDGE_MIN_DELAY_MICROS = 50_000L;
+
+    // Latences des claims réussis, mesurées à l'envoi, par type de réponse (claim simple ou groupé)
+    private final Map<Class<?>, RollingLatencyHistogram> claimLatencies = new ConcurrentHashMap<>();
+
+    // Circuit breaker et limite de concurrence par classe d'endpoints
+    private final Map<EndpointGroup, CircuitBreaker> breakers = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, Bulkhead> bulkheads = new EnumMap<>(EndpointGroup.class);
+    private final RateLimiter rateLimiter;
+
+    // Dernière réponse valide des lectures sans effet de bord, servie quand le circuit est ouvert
+    private final Map<String, ApiResponse<?>> lastGoodResponses = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ApiResponse<?>> eldest) {
+                    return size() > MAX_LAST_GOOD_RESPONSES;
+                }
+            });
 
     public KaizenApiClient(KaizenVotesPlugin plugin) {
         this.plugin = plugin;
@@ -31,12 +80,51 @@ public class KaizenApiClient {
                 .setDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
                 .create();
 
+        int bulkheadTotal = 0;
+        for (EndpointGroup group : EndpointGroup.values()) {
+            breakers.put(group, new CircuitBreaker(config.getCircuitFailureRate(),
+                    config.getCircuitSlowCallMillis(), config.getCircuitOpenDuration() * 1000L));
+            int concurrency = config.getBulkheadConcurrency(group.getKey(), group.getDefaultConcurrency());
+            bulkheads.put(group, new Bulkhead(concurrency, concurrency * 8));
+            bulkheadTotal += concurrency;
+        }
+
+        // Tous les appels vont au même hôte: si le dispatcher admet moins de requêtes que la somme
+        // des bulkheads, les stats peuvent occuper ses places et faire attendre les claims dans sa file
+        int maxRequestsPerHost = Math.max(1, config.getHttpMaxRequestsPerHost());
+        if (maxRequestsPerHost < bulkheadTotal) {
+            plugin.getLogger().warning("performance.http-max-requests-per-host (" + maxRequestsPerHost
+                    + ") est inférieur à la somme des api.bulkhead (" + bulkheadTotal + "), valeur portée à "
+                    + bulkheadTotal);
+            maxRequestsPerHost = bulkheadTotal;
+        }
+
+        // Threads virtuels: un thread par appel, la concurrence reste bornée par le dispatcher
+        Dispatcher dispatcher = config.isVirtualThreadsEnabled()
+                ? new Dispatcher(Executors.newVirtualThreadPerTaskExecutor())
+                : new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(maxRequestsPerHost, config.getHttpMaxRequests()));
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
         this.httpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
                 .connectTimeout(10, TimeUnit.SECONDS)
                 .readTimeout(30, TimeUnit.SECONDS)
                 .writeTimeout(30, TimeUnit.SECONDS)
                 .addInterceptor(this::addAuthHeader)
+                .eventListenerFactory(metrics)
                 .build();
+
+        if (config.isRateLimitEnabled()) {
+            Map<EndpointGroup, Double> groupRates = new EnumMap<>(EndpointGroup.class);
+            for (EndpointGroup group : EndpointGroup.values()) {
+                groupRates.put(group, config.getRateLimitGroupRate(group.getKey(), config.getRateLimitRequestsPerSecond()));
+            }
+            this.rateLimiter = new RateLimiter(config.getRateLimitRequestsPerSecond(), config.getRateLimitBurst(),
+                    groupRates, config.getRateLimitMaxWait() * 1000L);
+        } else {
+            this.rateLimiter = null;
+        }
     }
 
     /**
@@ -58,6 +146,34 @@ public class KaizenApiClient {
         return chain.proceed(original);
     }
 
+    /**
+     * Métriques des appels par endpoint (latences, codes HTTP, octets)
+     */
+    public ApiMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Circuit breaker d'une classe d'endpoints
+     */
+    public CircuitBreaker getCircuitBreaker(EndpointGroup group) {
+        return breakers.get(group);
+    }
+
+    /**
+     * Limite de concurrence d'une classe d'endpoints
+     */
+    public Bulkhead getBulkhead(EndpointGroup group) {
+        return bulkheads.get(group);
+    }
+
+    /**
+     * Limite de débit des requêtes sortantes (null si désactivée)
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
     /**
      * URL de base de l'API
      */
@@ -83,7 +199,7 @@ public class KaizenApiClient {
         request.setMinecraftVersion(minecraftVersion);
         request.setPluginVersion(pluginVersion);
 
-        return postAsync("/servers/pair", request, PairingResponse.class);
+        return postAsync(EndpointGroup.PAIRING, "/servers/pair", request, PairingResponse.class);
     }
 
     // ==================== Server Status ====================
@@ -92,14 +208,14 @@ public class KaizenApiClient {
      * Envoie les statistiques du serveur
      */
     public CompletableFuture<ApiResponse<Void>> sendServerStats(ServerInfo stats) {
-        return postAsync("/servers/" + config.getServerId() + "/stats", stats, Void.class);
+        return postAsync(EndpointGroup.STATS, "/servers/" + config.getServerId() + "/stats", stats, Void.class);
     }
 
     /**
      * Récupère le statut de connexion du serveur
      */
     public CompletableFuture<ApiResponse<ServerInfo>> getServerStatus() {
-        return getAsync("/servers/" + config.getServerId() + "/status", ServerInfo.class);
+        return getAsync(EndpointGroup.STATS, "/servers/" + config.getServerId() + "/status", ServerInfo.class);
     }
 
     // ==================== Votes ====================
@@ -108,21 +224,73 @@ public class KaizenApiClient {
      * Récupère les votes en attente pour le serveur
      */
     public CompletableFuture<ApiResponse<VoteEvent[]>> getPendingVotes() {
-        return getAsync("/servers/" + config.getServerId() + "/votes/pending", VoteEvent[].class);
+        return getAsync(EndpointGroup.POLLING, "/servers/" + config.getServerId() + "/votes/pending", VoteEvent[].class);
+    }
+
+    /**
+     * Récupère uniquement les votes plus récents que le curseur (id du dernier vote vu).
+     * Chaque vote est transmis au consumer dès qu'il est décodé, sur le thread HTTP.
+     * Si etag est fourni et que la liste n'a pas changé, la réponse est un 304 sans corps.
+     * @return Le nombre de votes reçus
+     */
+    public CompletableFuture<ApiResponse<Integer>> streamPendingVotesSince(String sinceVoteId, String etag,
+                                                                          Consumer<VoteEvent> consumer) {
+        String endpoint = "/servers/" + config.getServerId() + "/votes/pending";
+        if (sinceVoteId != null && !sinceVoteId.isEmpty()) {
+            endpoint += "?since=" + sinceVoteId;
+        }
+
+        Headers headers = etag != null && !etag.isEmpty()
+                ? Headers.of("If-None-Match", etag)
+                : Headers.of();
+
+        return streamAsync(EndpointGroup.POLLING, newGetRequest(endpoint, headers), VoteEvent.class, consumer);
+    }
+
+    /**
+     * Récupère la totalité des votes non réclamés du serveur (sans limite de taille),
+     * transmis un par un au consumer pendant la lecture de la réponse
+     * @return Le nombre de votes reçus
+     */
+    public CompletableFuture<ApiResponse<Integer>> streamAllPendingVotes(Consumer<VoteEvent> consumer) {
+        return streamAsync(EndpointGroup.POLLING, newGetRequest("/servers/" + config.getServerId() + "/votes/bulk", Headers.of()),
+                VoteEvent.class, consumer);
     }
 
     /**
      * Récupère les votes en attente pour un joueur spécifique
      */
     public CompletableFuture<ApiResponse<VoteEvent[]>> getPlayerPendingVotes(String playerUuid) {
-        return getAsync("/servers/" + config.getServerId() + "/votes/pending?player=" + playerUuid, VoteEvent[].class);
+        return getAsync(EndpointGroup.CLAIMS, "/servers/" + config.getServerId() + "/votes/pending?player=" + playerUuid,
+                VoteEvent[].class);
     }
 
     /**
      * Marque un vote comme réclamé et retourne les commandes à exécuter
      */
     public CompletableFuture<ApiResponse<ClaimResponse>> claimVote(String voteId) {
-        return postAsync("/votes/" + voteId + "/claim", null, ClaimResponse.class);
+        return claimAsync("/votes/" + voteId + "/claim", null, idempotencyKey(voteId), ClaimResponse.class);
+    }
+
+    /**
+     * Réclame plusieurs votes en une seule requête (un résultat par vote).
+     * Chaque vote porte sa propre clé d'idempotence: un vote renvoyé dans un autre lot
+     * reçoit le résultat de son premier claim au lieu de « déjà réclamé ».
+     */
+    public CompletableFuture<ApiResponse<BatchClaimResponse>> claimVotes(List<String> voteIds) {
+        Map<String, String> idempotencyKeys = new LinkedHashMap<>();
+        for (String voteId : voteIds) {
+            idempotencyKeys.put(voteId, idempotencyKey(voteId));
+        }
+        return claimAsync("/votes/claim", new BatchClaimRequest(voteIds, idempotencyKeys), null,
+                BatchClaimResponse.class);
+    }
+
+    /**
+     * Clé d'idempotence d'un claim, stable pour un serveur et un vote
+     */
+    private String idempotencyKey(String subject) {
+        return UUID.nameUUIDFromBytes((config.getServerId() + ":" + subject).getBytes(StandardCharsets.UTF_8)).toString();
     }
 
     // ==================== Leaderboard ====================
@@ -131,7 +299,7 @@ public class KaizenApiClient {
      * Récupère le classement des voteurs
      */
     public CompletableFuture<ApiResponse<LeaderboardEntry[]>> getLeaderboard(int page, int perPage) {
-        return getAsync("/servers/" + config.getServerId() + "/leaderboard?page=" + page + "&per_page=" + perPage,
+        return getAsync(EndpointGroup.LEADERBOARD, "/servers/" + config.getServerId() + "/leaderboard?page=" + page + "&per_page=" + perPage,
                 LeaderboardEntry[].class);
     }
 
@@ -139,7 +307,7 @@ public class KaizenApiClient {
      * Récupère la position d'un joueur dans le classement
      */
     public CompletableFuture<ApiResponse<LeaderboardEntry>> getPlayerPosition(String playerUuid) {
-        return getAsync("/servers/" + config.getServerId() + "/leaderboard/player/" + playerUuid,
+        return getAsync(EndpointGroup.LEADERBOARD, "/servers/" + config.getServerId() + "/leaderboard/player/" + playerUuid,
                 LeaderboardEntry.class);
     }
 
@@ -149,35 +317,294 @@ public class KaizenApiClient {
      * Récupère le lien de vote pour le serveur
      */
     public CompletableFuture<ApiResponse<String>> getVoteLink() {
-        return getAsync("/servers/" + config.getServerId() + "/vote-link", String.class);
+        return getAsync(EndpointGroup.GENERAL, "/servers/" + config.getServerId() + "/vote-link", String.class);
     }
 
     // ==================== Internal HTTP Methods ====================
 
-    private <T> CompletableFuture<ApiResponse<T>> getAsync(String endpoint, Class<T> responseClass) {
+    private <T> CompletableFuture<ApiResponse<T>> getAsync(EndpointGroup group, String endpoint, Class<T> responseClass) {
+        return getAsync(group, endpoint, responseClass, Headers.of());
+    }
+
+    private <T> CompletableFuture<ApiResponse<T>> getAsync(EndpointGroup group, String endpoint, Class<T> responseClass,
+                                                           Headers headers) {
+        Request request = newGetRequest(endpoint, headers);
+        if (headers.size() > 0) {
+            // Requête conditionnelle: la réponse dépend des headers de l'appelant
+            return guarded(group, () -> executeAsync(request, responseClass), null);
+        }
+
+        String key = request.url() + "|" + responseClass.getName();
+        if (!group.isStaleFallbackAllowed()) {
+            return coalesce(key, request, () -> guarded(group, () -> executeAsync(request, responseClass), null));
+        }
+
+        // Lecture sans effet de bord: la dernière réponse valide sert de repli si le circuit est ouvert
+        return coalesce(key, request, () -> guarded(group,
+                () -> executeAsync(request, responseClass).thenApply(response -> {
+                    if (response.isSuccess()) {
+                        lastGoodResponses.put(key, response);
+                    }
+                    return response;
+                }),
+                () -> lastGoodResponse(key)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ApiResponse<T> lastGoodResponse(String key) {
+        return (ApiResponse<T>) lastGoodResponses.get(key);
+    }
+
+    /**
+     * Applique le circuit breaker, la limite de débit et la limite de concurrence de la classe d'endpoints.
+     * Circuit ouvert: réponse de repli si disponible, sinon erreur 503 immédiate avec Retry-After.
+     * Requête abandonnée par la limite de débit: réponse de repli si disponible, sinon erreur.
+     */
+    private <T> CompletableFuture<ApiResponse<T>> guarded(EndpointGroup group,
+                                                          Supplier<CompletableFuture<ApiResponse<T>>> call,
+                                                          Supplier<ApiResponse<T>> fallback) {
+        CircuitBreaker breaker = breakers.get(group);
+        CircuitBreaker.Permit permit = breaker.tryAcquire();
+        if (permit == null) {
+            ApiResponse<T> cached = fallback != null ? fallback.get() : null;
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            long retryAfterSeconds = Math.max(1, (breaker.getRemainingOpenMillis() + 999) / 1000);
+            return CompletableFuture.completedFuture(ApiResponse.error(
+                    "Backend indisponible (circuit " + group.getKey() + " ouvert)", 503,
+                    Headers.of("Retry-After", Long.toString(retryAfterSeconds))));
+        }
+
+        if (rateLimiter == null) {
+            return submit(group, breaker, permit, call);
+        }
+        return rateLimiter.acquire(group).thenCompose(granted -> {
+            if (granted) {
+                return submit(group, breaker, permit, call);
+            }
+            breaker.cancel(permit);
+            ApiResponse<T> cached = fallback != null ? fallback.get() : null;
+            return CompletableFuture.completedFuture(cached != null ? cached : ApiResponse.<T>rejected(
+                    "Limite de débit atteinte (" + group.getKey() + ")"));
+        });
+    }
+
+    private <T> CompletableFuture<ApiResponse<T>> submit(EndpointGroup group, CircuitBreaker breaker,
+                                                         CircuitBreaker.Permit permit,
+                                                         Supplier<CompletableFuture<ApiResponse<T>>> call) {
+        CompletableFuture<ApiResponse<T>> future = bulkheads.get(group).submit(() -> {
+            long start = System.nanoTime();
+            return call.get().whenComplete((response, error) -> {
+                breaker.record(permit, isBackendFailure(response, error), System.nanoTime() - start);
+                if (rateLimiter != null && response != null && response.getStatusCode() == 429) {
+                    // Le backend limite déjà: suspendre tous les envois le temps demandé
+                    rateLimiter.pause(Math.max(1000L, response.getRetryAfterMillis()));
+                }
+            });
+        });
+
+        if (future == null) {
+            breaker.cancel(permit);
+            return CompletableFuture.completedFuture(ApiResponse.rejected(
+                    "Trop de requêtes en attente (" + group.getKey() + ")"));
+        }
+        return future;
+    }
+
+    /**
+     * Erreur réseau, 5xx ou 429: le backend est en difficulté (les autres 4xx ne comptent pas)
+     */
+    private static boolean isBackendFailure(ApiResponse<?> response, Throwable error) {
+        if (error != null || response == null) {
+            return true;
+        }
+        int code = response.getStatusCode();
+        return !response.isSuccess() && (code == 0 || code == 429 || code >= 500);
+    }
+
+    /**
+     * Single-flight: tant qu'un GET identique est en cours (ou que sa réponse a moins de
+     * api.get-coalesce-ttl ms), les appelants suivants partagent son résultat au lieu
+     * d'envoyer une nouvelle requête. Seules les réponses réussies sont conservées après réception.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<ApiResponse<T>> coalesce(String key, Request request,
+                                                           Supplier<CompletableFuture<ApiResponse<T>>> call) {
+        long now = System.currentTimeMillis();
+
+        SharedGet fresh = new SharedGet();
+        SharedGet shared = sharedGets.compute(key, (k, current) ->
+                current != null && !current.isExpired(now) ? current : fresh);
+
+        if (shared != fresh) {
+            metrics.recordCoalesced(request);
+            // Copie: un appelant qui complète ou annule son future n'affecte pas les autres
+            return ((CompletableFuture<ApiResponse<T>>) (CompletableFuture<?>) shared.future).copy();
+        }
+
+        if (sharedGets.size() > MAX_SHARED_GETS) {
+            sharedGets.values().removeIf(entry -> entry.isExpired(now));
+        }
+
+        CompletableFuture<ApiResponse<T>> future = (CompletableFuture<ApiResponse<T>>) (CompletableFuture<?>) fresh.future;
+        call.get().whenComplete((response, error) -> {
+            long ttl = config.getCoalesceTtlMillis();
+            if (ttl > 0 && response != null && response.isSuccess()) {
+                fresh.expiresAt = System.currentTimeMillis() + ttl;
+            } else {
+                sharedGets.remove(key, fresh);
+            }
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(response);
+            }
+        });
+        return future.copy();
+    }
+
+    private Request newGetRequest(String endpoint, Headers headers) {
         String url = endpoint.startsWith("http") ? endpoint : getBaseUrl() + endpoint;
 
-        Request request = new Request.Builder()
+        return new Request.Builder()
                 .url(url)
+                .headers(headers)
                 .get()
                 .build();
+    }
 
-        return executeAsync(request, responseClass);
+    private <T> CompletableFuture<ApiResponse<T>> postAsync(EndpointGroup group, String endpoint, Object body,
+                                                           Class<T> responseClass) {
+        return guarded(group, () -> executeAsync(newPostRequest(endpoint, body, Headers.of()), responseClass), null);
     }
 
-    private <T> CompletableFuture<ApiResponse<T>> postAsync(String endpoint, Object body, Class<T> responseClass) {
+    private Request newPostRequest(String endpoint, Object body, Headers headers) {
         String url = endpoint.startsWith("http") ? endpoint : getBaseUrl() + endpoint;
 
         RequestBody requestBody = body != null
                 ? RequestBody.create(gson.toJson(body), JSON)
                 : RequestBody.create("", JSON);
 
-        Request request = new Request.Builder()
+        return new Request.Builder()
                 .url(url)
+                .headers(headers)
                 .post(requestBody)
                 .build();
+    }
+
+    // ==================== Claims: retries and hedging ====================
+
+    /**
+     * Envoie un claim avec sa clé d'idempotence (dans l'en-tête, ou null si chaque vote du corps
+     * porte la sienne). Les erreurs transitoires (réseau, 408, 429, 5xx) sont retentées avec un
+     * backoff plafonné: le backend rejoue la réponse du premier claim portant la même clé,
+     * un vote n'est donc jamais récompensé deux fois.
+     */
+    private <T> CompletableFuture<ApiResponse<T>> claimAsync(String endpoint, Object body, String idempotencyKey,
+                                                             Class<T> responseClass) {
+        Headers headers = idempotencyKey != null ? Headers.of("Idempotency-Key", idempotencyKey) : Headers.of();
+        Request request = newPostRequest(endpoint, body, headers);
+        CompletableFuture<ApiResponse<T>> result = new CompletableFuture<>();
+        attemptClaim(request, responseClass, 1, result);
+        return result;
+    }
+
+    private <T> void attemptClaim(Request request, Class<T> responseClass, int attempt,
+                                  CompletableFuture<ApiResponse<T>> result) {
+        hedgedClaim(request, responseClass).whenComplete((response, error) -> {
+            if (error != null) {
+                response = ApiResponse.error("Erreur de connexion: " + error.getMessage());
+            }
+            if (response.isSuccess() || !isRetryable(response) || attempt >= config.getClaimMaxAttempts()) {
+                result.complete(response);
+                return;
+            }
+
+            long delayMillis = Math.max(retryDelayMillis(attempt), response.getRetryAfterMillis());
+            plugin.getVoteMetrics().claimRetried();
+            plugin.getLogger().fine("Claim " + request.url().encodedPath() + " en erreur (" + response.getError()
+                    + "), nouvelle tentative dans " + delayMillis + "ms");
+            plugin.getAsyncExecutor().runLater(() -> attemptClaim(request, responseClass, attempt + 1, result),
+                    Math.max(1L, (delayMillis + 49) / 50));
+        });
+    }
+
+    /**
+     * Backoff exponentiel plafonné, avec une moitié aléatoire pour désynchroniser les serveurs
+     */
+    private static long retryDelayMillis(int attempt) {
+        long delay = Math.min(CLAIM_RETRY_MAX_DELAY_MILLIS, CLAIM_RETRY_BASE_DELAY_MILLIS << Math.min(attempt - 1, 16));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * Erreur réseau, timeout, limitation de débit ou erreur serveur: le claim peut être retenté.
+     * Jamais un refus local (file pleine, débit atteint): le claim est rendu à l'appelant.
+     */
+    private static boolean isRetryable(ApiResponse<?> response) {
+        if (response.isRejected()) {
+            return false;
+        }
+        int code = response.getStatusCode();
+        return code == 0 || code == 408 || code == 429 || (code >= 500 && code != 501);
+    }
+
+    /**
+     * Envoie le claim, puis une seconde requête identique si la première dépasse le p95
+     * des latences récentes du claim (si activé). Le délai court à partir de l'envoi réel:
+     * l'attente dans la limite de débit ou le bulkhead ne déclenche pas de relance.
+     * La première réponse réussie l'emporte.
+     */
+    private <T> CompletableFuture<ApiResponse<T>> hedgedClaim(Request request, Class<T> responseClass) {
+        RollingLatencyHistogram latency = claimLatencies.computeIfAbsent(responseClass,
+                type -> new RollingLatencyHistogram(HEDGE_LATENCY_WINDOW_MILLIS));
+        boolean hedging = config.isClaimHedgingEnabled() && latency.getCount() >= HEDGE_MIN_SAMPLES;
+        long hedgeDelayMicros = hedging ? Math.max(HEDGE_MIN_DELAY_MICROS, latency.getPercentileMicros(95)) : 0;
+
+        CompletableFuture<ApiResponse<T>> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        BiConsumer<ApiResponse<T>, Throwable> onResponse = (response, error) -> {
+            if (error == null && response.isSuccess()) {
+                result.complete(response);
+            } else if (outstanding.decrementAndGet() == 0) {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(response);
+                }
+            }
+        };
+
+        guarded(EndpointGroup.CLAIMS, () -> {
+            if (hedging) {
+                CompletableFuture.delayedExecutor(hedgeDelayMicros, TimeUnit.MICROSECONDS).execute(() -> {
+                    if (result.isDone()) {
+                        return;
+                    }
+                    outstanding.incrementAndGet();
+                    plugin.getVoteMetrics().claimHedged();
+                    guarded(EndpointGroup.CLAIMS, () -> timedClaim(request, responseClass, latency), null)
+                            .whenComplete(onResponse);
+                });
+            }
+            return timedClaim(request, responseClass, latency);
+        }, null).whenComplete(onResponse);
+        return result;
+    }
 
-        return executeAsync(request, responseClass);
+    /**
+     * Envoie un claim et enregistre sa latence s'il réussit (les échecs et timeouts ne
+     * faussent pas le délai de relance)
+     */
+    private <T> CompletableFuture<ApiResponse<T>> timedClaim(Request request, Class<T> responseClass,
+                                                             RollingLatencyHistogram latency) {
+        long start = System.nanoTime();
+        return executeAsync(request, responseClass).whenComplete((response, error) -> {
+            if (error == null && response.isSuccess()) {
+                latency.record(System.nanoTime() - start);
+            }
+        });
     }
 
     private <T> CompletableFuture<ApiResponse<T>> executeAsync(Request request, Class<T> responseClass) {
@@ -194,22 +621,81 @@ public class KaizenApiClient {
                 try (ResponseBody body = response.body()) {
                     String bodyString = body != null ? body.string() : "";
 
-                    if (response.isSuccessful()) {
+                    if (response.code() == 304) {
+                        // Rien de nouveau depuis l'ETag envoyé
+                        future.complete(ApiResponse.success(null, 304, response.headers()));
+                    } else if (response.isSuccessful()) {
                         if (responseClass == Void.class || bodyString.isEmpty()) {
-                            future.complete(ApiResponse.success(null));
+                            future.complete(ApiResponse.success(null, response.code(), response.headers()));
                         } else {
                             T data = gson.fromJson(bodyString, responseClass);
-                            future.complete(ApiResponse.success(data));
+                            future.complete(ApiResponse.success(data, response.code(), response.headers()));
                         }
                     } else {
-                        // Essayer de parser l'erreur
-                        try {
-                            ErrorResponse error = gson.fromJson(bodyString, ErrorResponse.class);
-                            future.complete(ApiResponse.error(error.getMessage()));
-                        } catch (Exception e) {
-                            future.complete(ApiResponse.error("Erreur HTTP " + response.code()));
+                        future.complete(parseError(response, bodyString));
+                    }
+                }
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Variante de executeAsync pour les réponses en tableau JSON: le corps est lu en flux
+     * avec un JsonReader et chaque élément est transmis au consumer dès qu'il est décodé,
+     * sans charger la réponse entière en mémoire.
+     */
+    private <T> CompletableFuture<ApiResponse<Integer>> streamAsync(EndpointGroup group, Request request,
+                                                                    Class<T> elementClass, Consumer<T> consumer) {
+        return guarded(group, () -> streamAsync(request, elementClass, consumer), null);
+    }
+
+    private <T> CompletableFuture<ApiResponse<Integer>> streamAsync(Request request, Class<T> elementClass, Consumer<T> consumer) {
+        CompletableFuture<ApiResponse<Integer>> future = new CompletableFuture<>();
+
+        httpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.complete(ApiResponse.error("Erreur de connexion: " + e.getMessage()));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (response.code() == 304) {
+                        future.complete(ApiResponse.success(0, 304, response.headers()));
+                        return;
+                    }
+                    if (!response.isSuccessful()) {
+                        future.complete(parseError(response, body != null ? body.string() : ""));
+                        return;
+                    }
+                    if (body == null) {
+                        future.complete(ApiResponse.success(0, response.code(), response.headers()));
+                        return;
+                    }
+
+                    int count = 0;
+                    try (JsonReader reader = gson.newJsonReader(body.charStream())) {
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            T element = gson.fromJson(reader, elementClass);
+                            if (element != null) {
+                                consumer.accept(element);
+                                count++;
+                            }
                         }
+                        reader.endArray();
+                    } catch (JsonParseException | IllegalStateException e) {
+                        future.complete(ApiResponse.error("Réponse illisible après " + count + " élément(s): "
+                                + e.getMessage(), response.code(), response.headers()));
+                        return;
                     }
+
+                    future.complete(ApiResponse.success(count, response.code(), response.headers()));
+                } catch (IOException e) {
+                    future.complete(ApiResponse.error("Erreur de lecture: " + e.getMessage(), response.code(), response.headers()));
                 }
             }
         });
@@ -217,6 +703,30 @@ public class KaizenApiClient {
         return future;
     }
 
+    /**
+     * Construit la réponse d'erreur à partir du corps renvoyé par l'API
+     */
+    private <T> ApiResponse<T> parseError(Response response, String bodyString) {
+        try {
+            ErrorResponse error = gson.fromJson(bodyString, ErrorResponse.class);
+            return ApiResponse.error(error.getMessage(), response.code(), response.headers());
+        } catch (Exception e) {
+            return ApiResponse.error("Erreur HTTP " + response.code(), response.code(), response.headers());
+        }
+    }
+
+    /**
+     * GET partagé: en cours tant que expiresAt n'est pas fixé
+     */
+    private static final class SharedGet {
+        final CompletableFuture<ApiResponse<?>> future = new CompletableFuture<>();
+        volatile long expiresAt = Long.MAX_VALUE;
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
     /**
      * Ferme le client HTTP
      */
@@ -234,24 +744,91 @@ public class KaizenApiClient {
         private final boolean success;
         private final T data;
         private final String error;
+        private final int statusCode;
+        private final Headers headers;
+        private final boolean rejected;
 
-        private ApiResponse(boolean success, T data, String error) {
+        private ApiResponse(boolean success, T data, String error, int statusCode, Headers headers, boolean rejected) {
             this.success = success;
             this.data = data;
             this.error = error;
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.rejected = rejected;
         }
 
         public static <T> ApiResponse<T> success(T data) {
-            return new ApiResponse<>(true, data, null);
+            return success(data, 200);
+        }
+
+        public static <T> ApiResponse<T> success(T data, int statusCode) {
+            return success(data, statusCode, Headers.of());
+        }
+
+        public static <T> ApiResponse<T> success(T data, int statusCode, Headers headers) {
+            return new ApiResponse<>(true, data, null, statusCode, headers, false);
         }
 
         public static <T> ApiResponse<T> error(String error) {
-            return new ApiResponse<>(false, null, error);
+            return error(error, 0);
+        }
+
+        public static <T> ApiResponse<T> error(String error, int statusCode) {
+            return error(error, statusCode, Headers.of());
+        }
+
+        public static <T> ApiResponse<T> error(String error, int statusCode, Headers headers) {
+            return new ApiResponse<>(false, null, error, statusCode, headers, false);
+        }
+
+        /**
+         * Requête refusée par le plugin lui-même (limite de débit ou de concurrence), jamais envoyée
+         */
+        public static <T> ApiResponse<T> rejected(String error) {
+            return new ApiResponse<>(false, null, error, 0, Headers.of(), true);
         }
 
         public boolean isSuccess() { return success; }
         public T getData() { return data; }
         public String getError() { return error; }
+
+        /**
+         * Code HTTP de la réponse (0 si la requête n'a pas abouti)
+         */
+        public int getStatusCode() { return statusCode; }
+
+        /**
+         * Vrai si la requête a été refusée localement sans être envoyée:
+         * la retenter aussitôt ne ferait qu'ajouter à la surcharge
+         */
+        public boolean isRejected() { return rejected; }
+
+        /**
+         * Valeur d'un header de la réponse (null si absent)
+         */
+        public String getHeader(String name) { return headers.get(name); }
+
+        /**
+         * Vrai si le serveur a répondu 304 Not Modified (données inchangées)
+         */
+        public boolean isNotModified() { return statusCode == 304; }
+
+        /**
+         * Délai demandé par le header Retry-After (en secondes ou date HTTP), -1 si absent ou illisible
+         */
+        public long getRetryAfterMillis() {
+            String value = headers.get("Retry-After");
+            if (value == null || value.isBlank()) {
+                return -1;
+            }
+            try {
+                return Math.max(0L, Long.parseLong(value.trim()) * 1000L);
+            } catch (NumberFormatException ignored) {
+                // Pas un nombre de secondes, essayer une date HTTP
+            }
+            Date date = headers.getDate("Retry-After");
+            return date != null ? Math.max(0L, date.getTime() - System.currentTimeMillis()) : -1;
+        }
     }
 
     /**
@@ -3,22 +3,40 @@ package core.dev.kaizenVotesPlugin.api;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
 import core.dev.kaizenVotesPlugin.api.models.PairingResponse;
 import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
 import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import org.bukkit.scheduler.BukkitTask;
+import org.java_websocket.WebSocket;
 import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.framing.Framedata;
 import org.java_websocket.handshake.ServerHandshake;
 
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 /**
- * Client WebSocket pour les événements temps réel de Kaizen
+ * Client WebSocket pour les événements temps réel de Kaizen.
+ * Les sessions sont reprises après une coupure: le plus grand id de vote reçu est envoyé à la
+ * reconnexion (header Last-Event-ID) pour que le backend rejoue les votes manqués. Les votes
+ * reçus mais pas encore traités restent dans la file du thread principal; disconnect() les
+ * abandonne et recule le curseur avant le plus ancien d'entre eux pour qu'ils soient rejoués.
+ * Si le backend ne peut pas rejouer (session.reset), les votes manqués sont récupérés par un
+ * appel incrémental à /votes/pending?since=.
+ * Les ids ne sont pas livrés strictement dans l'ordre: le curseur ne sert qu'à la reprise, les
+ * doublons (votes rejoués) sont écartés par le filtre d'ids du handler de votes.
+ * Seul le backend simulé implémente Last-Event-ID et session.reset: face à un backend qui
+ * les ignore, les votes manqués pendant une coupure passent par le polling de secours.
  */
 public class KaizenWebSocketClient {
 
@@ -27,10 +45,25 @@ public class KaizenWebSocketClient {
     private final Gson gson;
 
     private WebSocketClient client;
-    private boolean connected = false;
-    private boolean shouldReconnect = true;
+    private volatile boolean connected = false;
+    // Dernière trame reçue (ou ouverture), pour détecter un socket silencieux
+    private volatile long lastActivityMillis = 0;
+    private volatile boolean shouldReconnect = true;
     private int reconnectAttempts = 0;
-    private static final int MAX_RECONNECT_ATTEMPTS = 10;
+    private final AtomicBoolean reconnectScheduled = new AtomicBoolean(false);
+
+    // Backoff à jitter décorrélé: délai = min(max, aléatoire(base, 3 × délai précédent))
+    private static final long RECONNECT_BASE_MILLIS = 1000L;
+    private static final long RECONNECT_MAX_MILLIS = 30_000L;
+    private long reconnectDelayMillis = RECONNECT_BASE_MILLIS;
+
+    // Curseur de reprise: plus grand id de vote reçu, envoyé à la reconnexion (-1 = aucun)
+    private final AtomicLong receivedSeq = new AtomicLong(-1);
+
+    // Votes reçus sur le thread du socket, vidés une fois par tick sur le thread principal
+    private final Queue<VoteEvent> incomingVotes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger incomingVoteCount = new AtomicInteger();
+    private BukkitTask drainTask;
 
     // Event handlers
     private Consumer<VoteEvent> onVoteReceived;
@@ -58,9 +91,73 @@ public class KaizenWebSocketClient {
 
         shouldReconnect = true;
         reconnectAttempts = 0;
+        reconnectDelayMillis = RECONNECT_BASE_MILLIS;
+        startDrainTask();
         createAndConnect();
     }
 
+    /**
+     * Démarre la tâche qui transmet les votes reçus au thread principal (une fois par tick)
+     */
+    private void startDrainTask() {
+        if (drainTask == null) {
+            drainTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::drainIncomingVotes, 1L, 1L);
+        }
+    }
+
+    /**
+     * Transmet les votes en file au handler, dans la limite du plafond par tick
+     */
+    private void drainIncomingVotes() {
+        int limit = config.getWebSocketMaxVotesPerTick();
+        VoteEvent vote;
+        for (int i = 0; i < limit && (vote = incomingVotes.poll()) != null; i++) {
+            incomingVoteCount.decrementAndGet();
+            if (onVoteReceived != null) {
+                try {
+                    onVoteReceived.accept(vote);
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Erreur traitement vote " + vote.getId() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Met un vote en file et avance le curseur de reprise. Un id inférieur au curseur n'est pas
+     * un doublon (les ids n'arrivent pas forcément dans l'ordre): les votes rejoués sont écartés
+     * par le handler de votes
+     */
+    private void enqueueVote(VoteEvent vote) {
+        if (vote == null) {
+            return;
+        }
+        long seq = sequenceOf(vote);
+        if (seq >= 0) {
+            receivedSeq.accumulateAndGet(seq, Math::max);
+        }
+        incomingVotes.add(vote);
+        incomingVoteCount.incrementAndGet();
+    }
+
+    /**
+     * Numéro de séquence d'un vote (son id numérique), -1 si l'id n'est pas numérique
+     */
+    private static long sequenceOf(VoteEvent vote) {
+        try {
+            return vote.getId() != null ? Long.parseLong(vote.getId()) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Nombre de votes reçus en attente de traitement sur le thread principal
+     */
+    public int getIncomingQueueDepth() {
+        return incomingVoteCount.get();
+    }
+
     /**
      * Connecte en mode pairing (avant d'avoir un token)
      */
@@ -74,6 +171,12 @@ public class KaizenWebSocketClient {
         Map<String, String> headers = new HashMap<>();
         headers.put("Authorization", "Bearer " + config.getServerToken());
         headers.put("X-Server-Id", config.getServerId());
+
+        // Reprise de session: le backend rejoue les votes plus récents
+        long lastSeq = receivedSeq.get();
+        if (lastSeq >= 0) {
+            headers.put("Last-Event-ID", Long.toString(lastSeq));
+        }
         createAndConnect(wsUrl, headers);
     }
 
@@ -85,7 +188,9 @@ public class KaizenWebSocketClient {
                 @Override
                 public void onOpen(ServerHandshake handshake) {
                     connected = true;
+                    lastActivityMillis = System.currentTimeMillis();
                     reconnectAttempts = 0;
+                    reconnectDelayMillis = RECONNECT_BASE_MILLIS;
                     plugin.getLogger().info("WebSocket connecté à Kaizen");
 
                     if (onConnected != null) {
@@ -95,9 +200,16 @@ public class KaizenWebSocketClient {
 
                 @Override
                 public void onMessage(String message) {
+                    lastActivityMillis = System.currentTimeMillis();
                     handleMessage(message);
                 }
 
+                @Override
+                public void onWebsocketPong(WebSocket conn, Framedata frame) {
+                    // Réponse aux pings de détection de perte de connexion
+                    lastActivityMillis = System.currentTimeMillis();
+                }
+
                 @Override
                 public void onClose(int code, String reason, boolean remote) {
                     connected = false;
@@ -136,21 +248,30 @@ public class KaizenWebSocketClient {
      */
     private void handleMessage(String message) {
         try {
-            JsonObject json = JsonParser.parseString(message).getAsJsonObject();
-            String type = json.has("type") ? json.get("type").getAsString() : "";
-            JsonObject data = json.has("data") ? json.getAsJsonObject("data") : null;
+            WebSocketMessage parsed = WebSocketMessage.parse(message);
+            String type = parsed.getType();
+            JsonObject data = parsed.getData();
 
             switch (type) {
                 case "vote.received":
                     if (data != null && onVoteReceived != null) {
-                        VoteEvent vote = gson.fromJson(data, VoteEvent.class);
-                        plugin.getServer().getScheduler().runTask(plugin, () -> onVoteReceived.accept(vote));
+                        enqueueVote(parsed.decode(gson, VoteEvent.class));
                     }
                     break;
 
+                case "session.resumed":
+                    int replayed = data != null && data.has("replayed") ? data.get("replayed").getAsInt() : 0;
+                    plugin.getLogger().info("Session WebSocket reprise (" + replayed + " vote(s) rejoué(s))");
+                    break;
+
+                case "session.reset":
+                    // Le backend ne peut pas rejouer depuis notre séquence
+                    catchUp();
+                    break;
+
                 case "pairing.confirmed":
                     if (data != null && onPairingConfirmed != null) {
-                        PairingResponse pairing = gson.fromJson(data, PairingResponse.class);
+                        PairingResponse pairing = parsed.decode(gson, PairingResponse.class);
                         plugin.getServer().getScheduler().runTask(plugin, () -> onPairingConfirmed.accept(pairing));
                     }
                     break;
@@ -197,24 +318,46 @@ public class KaizenWebSocketClient {
     }
 
     /**
-     * Planifie une reconnexion avec backoff exponentiel
+     * Récupère les votes plus récents que la séquence reçue via l'API (session non reprise)
+     */
+    private void catchUp() {
+        long lastSeq = receivedSeq.get();
+        if (lastSeq < 0) {
+            return;
+        }
+
+        plugin.getLogger().info("Session WebSocket non reprise, récupération des votes depuis #" + lastSeq);
+        plugin.getApiClient().streamPendingVotesSince(Long.toString(lastSeq), null, this::enqueueVote)
+                .thenAccept(response -> {
+                    if (!response.isSuccess()) {
+                        plugin.getLogger().warning("Récupération des votes manqués échouée: " + response.getError());
+                    }
+                });
+    }
+
+    /**
+     * Planifie une reconnexion avec backoff à jitter décorrélé (sans limite de tentatives)
      */
     private void scheduleReconnect() {
-        if (reconnectAttempts >= MAX_RECONNECT_ATTEMPTS) {
-            plugin.getLogger().warning("Nombre maximum de tentatives de reconnexion atteint");
+        if (!reconnectScheduled.compareAndSet(false, true)) {
             return;
         }
 
         reconnectAttempts++;
-        long delay = Math.min(30, (long) Math.pow(2, reconnectAttempts)); // Max 30 secondes
+        plugin.getVoteMetrics().webSocketReconnectScheduled();
+        long upper = Math.max(RECONNECT_BASE_MILLIS + 1, reconnectDelayMillis * 3);
+        reconnectDelayMillis = Math.min(RECONNECT_MAX_MILLIS,
+                ThreadLocalRandom.current().nextLong(RECONNECT_BASE_MILLIS, upper));
 
-        plugin.getLogger().info("Reconnexion WebSocket dans " + delay + " secondes (tentative " + reconnectAttempts + ")");
+        plugin.getLogger().info(String.format("Reconnexion WebSocket dans %.1f secondes (tentative %d)",
+                reconnectDelayMillis / 1000.0, reconnectAttempts));
 
-        plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
+        plugin.getAsyncExecutor().runLater(() -> {
+            reconnectScheduled.set(false);
             if (shouldReconnect && !connected && config.isLinked()) {
                 createAndConnect();
             }
-        }, delay * 20L); // Convertir en ticks
+        }, Math.max(1L, reconnectDelayMillis / 50L)); // Convertir en ticks
     }
 
     /**
@@ -227,6 +370,36 @@ public class KaizenWebSocketClient {
             client = null;
         }
         connected = false;
+
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        // Les votes non traités restent en attente côté backend (cache / polling)
+        int dropped = incomingVoteCount.getAndSet(0);
+        long oldestDropped = Long.MAX_VALUE;
+        VoteEvent vote;
+        while ((vote = incomingVotes.poll()) != null) {
+            long seq = sequenceOf(vote);
+            if (seq >= 0) {
+                oldestDropped = Math.min(oldestDropped, seq);
+            }
+        }
+        // Les votes abandonnés seront rejoués à la prochaine connexion
+        if (oldestDropped != Long.MAX_VALUE) {
+            long resumeFrom = oldestDropped - 1;
+            receivedSeq.accumulateAndGet(resumeFrom, Math::min);
+        }
+        if (dropped > 0) {
+            plugin.getLogger().info(dropped + " vote(s) WebSocket non traité(s), ils seront récupérés depuis le backend");
+        }
+    }
+
+    /**
+     * Horodatage de la dernière trame reçue (0 si jamais connecté)
+     */
+    public long getLastActivityMillis() {
+        return lastActivityMillis;
     }
 
     /**
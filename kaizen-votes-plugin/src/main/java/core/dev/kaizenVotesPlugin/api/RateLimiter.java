@@ -0,0 +1,276 @@
+package core.dev.kaizenVotesPlugin.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de débit des requêtes sortantes, par seaux à jetons.
+ * Chaque classe d'endpoints a son propre seau, et toutes partagent un seau global
+ * dont une part est réservée aux classes prioritaires: sous pression, les claims
+ * passent toujours en premier, puis le polling, les stats et enfin le classement.
+ * Une requête sans jeton attend dans la file de sa classe; pour les classes
+ * abandonnables, elle est abandonnée si la file est pleine ou l'attente trop longue.
+ * Un 429 du backend suspend tous les envois pendant la durée du Retry-After.
+ */
+public class RateLimiter {
+
+    // Délais entre deux passes sur les files d'attente
+    private static final long MIN_DRAIN_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long MAX_DRAIN_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // Taille de file des classes non abandonnables (claims, polling)
+    private static final int MAX_PRIORITY_QUEUE = 1024;
+
+    private final TokenBucket global;
+    private final Map<EndpointGroup, GroupState> groups = new EnumMap<>(EndpointGroup.class);
+    private final long maxWaitNanos;
+
+    private long pausedUntil = 0;
+    private boolean drainScheduled = false;
+
+    /**
+     * @param globalRate Requêtes par seconde, toutes classes confondues
+     * @param globalBurst Nombre de requêtes pouvant partir d'un coup après une période calme
+     * @param groupRates Requêtes par seconde de chaque classe (rafale: deux secondes de débit)
+     * @param maxWaitMillis Attente maximale d'une requête abandonnable
+     */
+    public RateLimiter(double globalRate, int globalBurst, Map<EndpointGroup, Double> groupRates, long maxWaitMillis) {
+        long now = System.nanoTime();
+        this.global = new TokenBucket(globalRate, globalBurst, now);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxWaitMillis));
+        for (EndpointGroup group : EndpointGroup.values()) {
+            double rate = groupRates.getOrDefault(group, globalRate);
+            int burst = (int) Math.max(1, Math.ceil(rate * 2));
+            int maxQueued = group.isDroppable() ? burst * 2 : MAX_PRIORITY_QUEUE;
+            // Jetons du seau global que cette classe ne peut pas consommer
+            // (un seau global plein laisse toujours passer une requête, quelle que soit sa classe)
+            double reserve = (global.capacity - 1) * group.getPriority() / 4.0;
+            groups.put(group, new GroupState(new TokenBucket(rate, burst, now), maxQueued, reserve));
+        }
+    }
+
+    /**
+     * Demande l'autorisation d'envoyer une requête
+     * @return true quand la requête peut partir, false si elle a été abandonnée
+     */
+    public CompletableFuture<Boolean> acquire(EndpointGroup group) {
+        CompletableFuture<Boolean> permit = new CompletableFuture<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            GroupState state = groups.get(group);
+            // Les requêtes déjà en file de la classe passent avant
+            if (state.waiting.isEmpty() && tryTake(state, now)) {
+                return CompletableFuture.completedFuture(true);
+            }
+            if (state.waiting.size() >= state.maxQueued) {
+                state.dropped++;
+                return CompletableFuture.completedFuture(false);
+            }
+            state.waiting.add(new Waiter(permit, now));
+            state.delayed++;
+            scheduleDrain(now);
+        }
+        return permit;
+    }
+
+    /**
+     * Suspend tous les envois (backend en limitation de débit)
+     */
+    public void pause(long millis) {
+        synchronized (this) {
+            long now = System.nanoTime();
+            long until = now + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, millis));
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+            }
+            global.refill(now);
+            global.tokens = 0;
+        }
+    }
+
+    private boolean tryTake(GroupState state, long now) {
+        if (pausedUntil - now > 0) {
+            return false;
+        }
+        global.refill(now);
+        state.bucket.refill(now);
+        if (state.bucket.tokens < 1 || global.tokens - 1 < state.reserve) {
+            return false;
+        }
+        state.bucket.tokens--;
+        global.tokens--;
+        return true;
+    }
+
+    private void scheduleDrain(long now) {
+        if (drainScheduled) {
+            return;
+        }
+        drainScheduled = true;
+        long delay = nextDrainDelay(now);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(this::drain);
+    }
+
+    /**
+     * Sert les files par ordre de priorité, tant que les seaux le permettent
+     */
+    private void drain() {
+        List<CompletableFuture<Boolean>> granted = new ArrayList<>();
+        List<CompletableFuture<Boolean>> dropped = new ArrayList<>();
+        synchronized (this) {
+            drainScheduled = false;
+            long now = System.nanoTime();
+            for (EndpointGroup group : EndpointGroup.byPriority()) {
+                GroupState state = groups.get(group);
+                Waiter waiter;
+                while ((waiter = state.waiting.peek()) != null) {
+                    if (group.isDroppable() && now - waiter.enqueuedAt > maxWaitNanos) {
+                        state.waiting.poll();
+                        state.dropped++;
+                        dropped.add(waiter.permit);
+                    } else if (tryTake(state, now)) {
+                        state.waiting.poll();
+                        granted.add(waiter.permit);
+                    } else {
+                        break;
+                    }
+                }
+            }
+            if (groups.values().stream().anyMatch(state -> !state.waiting.isEmpty())) {
+                scheduleDrain(now);
+            }
+        }
+        // Hors du verrou: la suite de la requête démarre dans ce thread
+        dropped.forEach(permit -> permit.complete(false));
+        granted.forEach(permit -> permit.complete(true));
+    }
+
+    /**
+     * Temps avant que la première requête en file puisse obtenir ses jetons
+     */
+    private long nextDrainDelay(long now) {
+        if (pausedUntil - now > 0) {
+            return Math.min(MAX_DRAIN_DELAY_NANOS, Math.max(MIN_DRAIN_DELAY_NANOS, pausedUntil - now));
+        }
+        global.refill(now);
+        long delay = MAX_DRAIN_DELAY_NANOS;
+        for (GroupState state : groups.values()) {
+            if (state.waiting.isEmpty()) {
+                continue;
+            }
+            state.bucket.refill(now);
+            long wait = Math.max(state.bucket.nanosUntil(1), global.nanosUntil(state.reserve + 1));
+            delay = Math.min(delay, wait);
+        }
+        return Math.max(MIN_DRAIN_DELAY_NANOS, delay);
+    }
+
+    /**
+     * Jetons disponibles dans le seau global
+     */
+    public synchronized double getAvailableTokens() {
+        global.refill(System.nanoTime());
+        return global.tokens;
+    }
+
+    public int getCapacity() {
+        return global.capacity;
+    }
+
+    public double getRate() {
+        return global.ratePerNano * 1e9;
+    }
+
+    /**
+     * Temps restant de la suspension après un 429 (0 si aucune)
+     */
+    public synchronized long getRemainingPauseMillis() {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(pausedUntil - System.nanoTime()));
+    }
+
+    /**
+     * Jetons disponibles dans le seau d'une classe
+     */
+    public synchronized double getAvailableTokens(EndpointGroup group) {
+        TokenBucket bucket = groups.get(group).bucket;
+        bucket.refill(System.nanoTime());
+        return bucket.tokens;
+    }
+
+    /**
+     * Requêtes d'une classe en attente de jeton
+     */
+    public synchronized int getQueued(EndpointGroup group) {
+        return groups.get(group).waiting.size();
+    }
+
+    /**
+     * Requêtes d'une classe qui ont dû attendre un jeton
+     */
+    public synchronized long getDelayed(EndpointGroup group) {
+        return groups.get(group).delayed;
+    }
+
+    /**
+     * Requêtes d'une classe abandonnées (file pleine ou attente trop longue)
+     */
+    public synchronized long getDropped(EndpointGroup group) {
+        return groups.get(group).dropped;
+    }
+
+    private static final class TokenBucket {
+        private final double ratePerNano;
+        private final int capacity;
+        private double tokens;
+        private long lastRefill;
+
+        private TokenBucket(double ratePerSecond, int capacity, long now) {
+            this.ratePerNano = Math.max(0.01, ratePerSecond) / 1e9;
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+            this.lastRefill = now;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * ratePerNano);
+                lastRefill = now;
+            }
+        }
+
+        private long nanosUntil(double needed) {
+            return needed <= tokens ? 0 : (long) Math.ceil((needed - tokens) / ratePerNano);
+        }
+    }
+
+    private static final class GroupState {
+        private final TokenBucket bucket;
+        private final int maxQueued;
+        private final double reserve;
+        private final Queue<Waiter> waiting = new ArrayDeque<>();
+        private long delayed = 0;
+        private long dropped = 0;
+
+        private GroupState(TokenBucket bucket, int maxQueued, double reserve) {
+            this.bucket = bucket;
+            this.maxQueued = maxQueued;
+            this.reserve = reserve;
+        }
+    }
+
+    private static final class Waiter {
+        private final CompletableFuture<Boolean> permit;
+        private final long enqueuedAt;
+
+        private Waiter(CompletableFuture<Boolean> permit, long enqueuedAt) {
+            this.permit = permit;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
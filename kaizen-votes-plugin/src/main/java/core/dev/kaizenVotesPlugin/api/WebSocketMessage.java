@@ -0,0 +1,48 @@
+package core.dev.kaizenVotesPlugin.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Message reçu du WebSocket Kaizen: {"type": "...", "data": {...}}
+ */
+public final class WebSocketMessage {
+
+    private final String type;
+    private final JsonObject data;
+
+    private WebSocketMessage(String type, JsonObject data) {
+        this.type = type;
+        this.data = data;
+    }
+
+    /**
+     * Décode l'enveloppe d'un message texte
+     * @throws RuntimeException si le message n'est pas un objet JSON valide
+     */
+    public static WebSocketMessage parse(String raw) {
+        JsonObject json = JsonParser.parseString(raw).getAsJsonObject();
+        String type = json.has("type") ? json.get("type").getAsString() : "";
+        JsonObject data = json.has("data") ? json.getAsJsonObject("data") : null;
+        return new WebSocketMessage(type, data);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Données du message (null si absentes)
+     */
+    public JsonObject getData() {
+        return data;
+    }
+
+    /**
+     * Convertit les données du message dans le type demandé (null si absentes)
+     */
+    public <T> T decode(Gson gson, Class<T> type) {
+        return data != null ? gson.fromJson(data, type) : null;
+    }
+}
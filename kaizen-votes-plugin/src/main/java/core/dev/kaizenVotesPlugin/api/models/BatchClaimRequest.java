@@ -0,0 +1,32 @@
+package core.dev.kaizenVotesPlugin.api.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Requête de claim groupé de plusieurs votes
+ */
+public class BatchClaimRequest {
+
+    @SerializedName("vote_ids")
+    private List<String> voteIds;
+
+    // Clé d'idempotence de chaque vote, par identifiant de vote
+    @SerializedName("idempotency_keys")
+    private Map<String, String> idempotencyKeys;
+
+    public BatchClaimRequest() {}
+
+    public BatchClaimRequest(List<String> voteIds, Map<String, String> idempotencyKeys) {
+        this.voteIds = voteIds;
+        this.idempotencyKeys = idempotencyKeys;
+    }
+
+    public List<String> getVoteIds() { return voteIds; }
+    public void setVoteIds(List<String> voteIds) { this.voteIds = voteIds; }
+
+    public Map<String, String> getIdempotencyKeys() { return idempotencyKeys; }
+    public void setIdempotencyKeys(Map<String, String> idempotencyKeys) { this.idempotencyKeys = idempotencyKeys; }
+}
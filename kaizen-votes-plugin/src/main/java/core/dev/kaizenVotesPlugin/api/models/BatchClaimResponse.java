@@ -0,0 +1,56 @@
+package core.dev.kaizenVotesPlugin.api.models;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Représente la réponse de l'API lors d'un claim groupé (un résultat par vote)
+ */
+public class BatchClaimResponse {
+
+    @SerializedName("success")
+    private boolean success;
+
+    @SerializedName("message")
+    private String message;
+
+    @SerializedName("data")
+    private BatchClaimData data;
+
+    public boolean isSuccess() { return success; }
+    public String getMessage() { return message; }
+    public BatchClaimData getData() { return data; }
+
+    public static class BatchClaimData {
+        @SerializedName("results")
+        private ClaimResult[] results;
+
+        public ClaimResult[] getResults() { return results; }
+    }
+
+    public static class ClaimResult {
+        @SerializedName("vote_id")
+        private String voteId;
+
+        @SerializedName("success")
+        private boolean success;
+
+        @SerializedName("message")
+        private String message;
+
+        @SerializedName("minecraft_username")
+        private String minecraftUsername;
+
+        @SerializedName("commands")
+        private String[] commands;
+
+        @SerializedName("streak")
+        private int streak;
+
+        public String getVoteId() { return voteId; }
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+        public String getMinecraftUsername() { return minecraftUsername; }
+        public String[] getCommands() { return commands; }
+        public int getStreak() { return streak; }
+    }
+}
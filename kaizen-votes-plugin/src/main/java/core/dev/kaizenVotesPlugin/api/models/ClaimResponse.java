@@ -30,8 +30,12 @@ public class ClaimResponse {
         @SerializedName("commands")
         private String[] commands;
 
+        @SerializedName("streak")
+        private int streak;
+
         public int getVoteId() { return voteId; }
         public String getMinecraftUsername() { return minecraftUsername; }
         public String[] getCommands() { return commands; }
+        public int getStreak() { return streak; }
     }
 }
@@ -1,7 +1,16 @@
 package core.dev.kaizenVotesPlugin.commands;
 
 import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.Bulkhead;
+import core.dev.kaizenVotesPlugin.api.CircuitBreaker;
+import core.dev.kaizenVotesPlugin.api.EndpointGroup;
+import core.dev.kaizenVotesPlugin.api.RateLimiter;
 import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import core.dev.kaizenVotesPlugin.metrics.EndpointMetrics;
+import core.dev.kaizenVotesPlugin.metrics.LatencyHistogram;
+import core.dev.kaizenVotesPlugin.rewards.RewardCommandExecutor;
+import core.dev.kaizenVotesPlugin.stats.AdaptivePollScheduler;
+import core.dev.kaizenVotesPlugin.stats.VoteDeliverySupervisor;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -25,7 +34,7 @@ public class KaizenCommand implements CommandExecutor, TabCompleter {
     private final KaizenVotesPlugin plugin;
     private final ConfigManager config;
 
-    private static final List<String> SUBCOMMANDS = Arrays.asList("link", "unlink", "status", "reload");
+    private static final List<String> SUBCOMMANDS = Arrays.asList("link", "unlink", "status", "metrics", "reload");
 
     public KaizenCommand(KaizenVotesPlugin plugin) {
         this.plugin = plugin;
@@ -54,6 +63,9 @@ public class KaizenCommand implements CommandExecutor, TabCompleter {
             case "status":
                 handleStatus(sender);
                 break;
+            case "metrics":
+                handleMetrics(sender);
+                break;
             case "reload":
                 handleReload(sender);
                 break;
@@ -111,6 +123,9 @@ public class KaizenCommand implements CommandExecutor, TabCompleter {
 
                     // Démarrer la sync des stats
                     plugin.getStatsCollector().start();
+
+                    // Reprendre les claims du journal restés en attente de liaison
+                    plugin.getRewardManager().recoverOnlinePlayers();
                 } else {
                     String error = response.getError() != null ? response.getError() : "Code invalide ou expiré";
                     sender.sendMessage(Component.text("[Kaizen] ", NamedTextColor.GOLD)
@@ -174,6 +189,9 @@ public class KaizenCommand implements CommandExecutor, TabCompleter {
 
         // Arrêter la sync des stats
         plugin.getStatsCollector().stop();
+        plugin.getStatsCollector().resetPollCursor();
+        plugin.getPendingVoteStore().clear();
+        plugin.getLeaderboardCache().clear();
 
         // Effacer les tokens
         config.clearAuth();
@@ -194,10 +212,62 @@ public class KaizenCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage(Component.text("  ID: ", NamedTextColor.GRAY)
                     .append(Component.text(config.getServerId(), NamedTextColor.WHITE)));
 
-            boolean wsConnected = plugin.getWebSocketClient().isConnected();
+            boolean wsConnected = plugin.getWebSocketClient() != null && plugin.getWebSocketClient().isConnected();
+            VoteDeliverySupervisor supervisor = plugin.getStatsCollector().getDeliverySupervisor();
+            boolean failover = supervisor != null && supervisor.isFailoverActive();
             sender.sendMessage(Component.text("  WebSocket: ", NamedTextColor.GRAY)
                     .append(Component.text(wsConnected ? "Connecté" : "Déconnecté",
-                            wsConnected ? NamedTextColor.GREEN : NamedTextColor.RED)));
+                            wsConnected ? NamedTextColor.GREEN : NamedTextColor.RED))
+                    .append(Component.text(failover ? " (polling de secours actif)" : "", NamedTextColor.YELLOW)));
+
+            AdaptivePollScheduler poller = plugin.getStatsCollector().getVotePoller();
+            if (poller != null) {
+                sender.sendMessage(Component.text("  Polling: ", NamedTextColor.GRAY)
+                        .append(Component.text(String.format("%.1fs", poller.getCurrentIntervalTicks() / 20.0), NamedTextColor.WHITE))
+                        .append(Component.text(String.format(" (taux de votes: %.0f%%, %d/%d polls)",
+                                poller.getHitRate() * 100, poller.getTotalHits(), poller.getTotalPolls()), NamedTextColor.DARK_GRAY)));
+            }
+
+            RateLimiter limiter = plugin.getApiClient().getRateLimiter();
+            if (limiter != null) {
+                long pause = limiter.getRemainingPauseMillis();
+                sender.sendMessage(Component.text("  Limite de débit: ", NamedTextColor.GRAY)
+                        .append(Component.text(String.format("%.0f/%d jetons", limiter.getAvailableTokens(),
+                                limiter.getCapacity()), NamedTextColor.WHITE))
+                        .append(Component.text(String.format(" (%.1f req/s)", limiter.getRate()), NamedTextColor.DARK_GRAY))
+                        .append(Component.text(pause > 0 ? " suspendue " + (pause + 999) / 1000 + "s (429)" : "",
+                                NamedTextColor.RED)));
+            }
+
+            for (EndpointGroup group : EndpointGroup.values()) {
+                CircuitBreaker breaker = plugin.getApiClient().getCircuitBreaker(group);
+                Bulkhead bulkhead = plugin.getApiClient().getBulkhead(group);
+                CircuitBreaker.State state = breaker.getState();
+                NamedTextColor color = state == CircuitBreaker.State.CLOSED ? NamedTextColor.GREEN
+                        : state == CircuitBreaker.State.HALF_OPEN ? NamedTextColor.YELLOW : NamedTextColor.RED;
+                String label = state == CircuitBreaker.State.CLOSED ? "fermé"
+                        : state == CircuitBreaker.State.HALF_OPEN ? "semi-ouvert" : "ouvert";
+                sender.sendMessage(Component.text("  API " + group.getKey() + ": ", NamedTextColor.GRAY)
+                        .append(Component.text("circuit " + label, color))
+                        .append(Component.text(String.format(" (échecs %.0f%%, %d/%d en cours, %d en attente)",
+                                breaker.getFailureRate() * 100, bulkhead.getActive(), bulkhead.getMaxConcurrent(),
+                                bulkhead.getQueued()), NamedTextColor.DARK_GRAY)));
+                if (limiter != null) {
+                    int throttled = limiter.getQueued(group);
+                    sender.sendMessage(Component.text("    débit: ", NamedTextColor.GRAY)
+                            .append(Component.text(String.format("%.1f jetons", limiter.getAvailableTokens(group)),
+                                    NamedTextColor.WHITE))
+                            .append(Component.text(String.format(", %d en file, %d retardées, %d abandonnées",
+                                    throttled, limiter.getDelayed(group), limiter.getDropped(group)),
+                                    throttled > 0 ? NamedTextColor.YELLOW : NamedTextColor.DARK_GRAY)));
+                }
+            }
+
+            RewardCommandExecutor executor = plugin.getRewardManager().getCommandExecutor();
+            sender.sendMessage(Component.text("  Commandes en file: ", NamedTextColor.GRAY)
+                    .append(Component.text(executor.getQueueDepth(), NamedTextColor.WHITE))
+                    .append(Component.text(" (dernier tick: " + executor.getLastTickCommands() + " en "
+                            + (executor.getLastTickNanos() / 1000) + "µs)", NamedTextColor.DARK_GRAY)));
         } else {
             sender.sendMessage(Component.text("● ", NamedTextColor.RED)
                     .append(Component.text("Serveur non lié", NamedTextColor.WHITE)));
@@ -208,6 +278,65 @@ public class KaizenCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(Component.empty());
     }
 
+    /**
+     * /kaizen metrics - Affiche les métriques des appels à l'API par endpoint
+     */
+    private void handleMetrics(CommandSender sender) {
+        sender.sendMessage(Component.empty());
+        sender.sendMessage(Component.text("═══ MÉTRIQUES API ═══", NamedTextColor.GOLD));
+
+        List<EndpointMetrics> endpoints = plugin.getApiClient().getMetrics().getEndpoints();
+        if (endpoints.isEmpty()) {
+            sender.sendMessage(Component.text("Aucun appel à l'API pour le moment", NamedTextColor.GRAY));
+        }
+
+        for (EndpointMetrics endpoint : endpoints) {
+            LatencyHistogram latency = endpoint.getLatency();
+
+            sender.sendMessage(Component.text(endpoint.getEndpoint(), NamedTextColor.AQUA)
+                    .append(Component.text(" (" + latency.getCount() + " appels, " + endpoint.getInFlight() + " en cours, "
+                            + endpoint.getCoalesced() + " mutualisés)",
+                            NamedTextColor.DARK_GRAY)));
+            sender.sendMessage(Component.text("  Latence: ", NamedTextColor.GRAY)
+                    .append(Component.text("p50 " + formatMicros(latency.getPercentileMicros(50))
+                            + " · p95 " + formatMicros(latency.getPercentileMicros(95))
+                            + " · p99 " + formatMicros(latency.getPercentileMicros(99))
+                            + " · max " + formatMicros(latency.getMaxMicros()), NamedTextColor.WHITE)));
+            sender.sendMessage(Component.text("  Phases p50: ", NamedTextColor.GRAY)
+                    .append(Component.text("DNS " + formatMicros(endpoint.getDns().getPercentileMicros(50))
+                            + " · connexion " + formatMicros(endpoint.getConnect().getPercentileMicros(50))
+                            + " · TLS " + formatMicros(endpoint.getTls().getPercentileMicros(50)), NamedTextColor.WHITE)));
+
+            StringBuilder codes = new StringBuilder();
+            endpoint.getStatusCodes().forEach((code, count) -> codes.append(codes.length() > 0 ? ", " : "")
+                    .append(code == EndpointMetrics.NETWORK_FAILURE ? "réseau" : code).append("×").append(count));
+            sender.sendMessage(Component.text("  Codes: ", NamedTextColor.GRAY)
+                    .append(Component.text(codes.toString(), endpoint.getErrorCount() > 0 ? NamedTextColor.YELLOW : NamedTextColor.GREEN))
+                    .append(Component.text(" · ↑" + formatBytes(endpoint.getBytesSent())
+                            + " ↓" + formatBytes(endpoint.getBytesReceived()), NamedTextColor.DARK_GRAY)));
+        }
+
+        sender.sendMessage(Component.text("═════════════════════", NamedTextColor.GOLD));
+        sender.sendMessage(Component.empty());
+    }
+
+    private static String formatMicros(long micros) {
+        if (micros < 1000) {
+            return micros + "µs";
+        }
+        return String.format("%.1fms", micros / 1000.0);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + "o";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1fKo", bytes / 1024.0);
+        }
+        return String.format("%.1fMo", bytes / (1024.0 * 1024.0));
+    }
+
     /**
      * /kaizen reload - Recharge la configuration
      */
@@ -229,6 +358,8 @@ public class KaizenCommand implements CommandExecutor, TabCompleter {
                 .append(Component.text(" - Délier le serveur", NamedTextColor.GRAY)));
         sender.sendMessage(Component.text("/kaizen status", NamedTextColor.AQUA)
                 .append(Component.text(" - Voir le statut de connexion", NamedTextColor.GRAY)));
+        sender.sendMessage(Component.text("/kaizen metrics", NamedTextColor.AQUA)
+                .append(Component.text(" - Voir les métriques des appels API", NamedTextColor.GRAY)));
         sender.sendMessage(Component.text("/kaizen reload", NamedTextColor.AQUA)
                 .append(Component.text(" - Recharger la configuration", NamedTextColor.GRAY)));
         sender.sendMessage(Component.text("════════════════════", NamedTextColor.GOLD));
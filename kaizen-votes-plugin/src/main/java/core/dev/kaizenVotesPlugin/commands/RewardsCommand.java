@@ -3,6 +3,7 @@ package core.dev.kaizenVotesPlugin.commands;
 import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
 import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
 import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import core.dev.kaizenVotesPlugin.rewards.PendingVoteStore;
 import core.dev.kaizenVotesPlugin.rewards.RewardManager;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -13,6 +14,8 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 /**
  * Commande /rewards - Réclame les récompenses de vote en attente
  */
@@ -49,64 +52,61 @@ public class RewardsCommand implements CommandExecutor {
             return true;
         }
 
-        // Récupérer tous les votes en attente et filtrer par username
-        plugin.getApiClient().getPendingVotes().thenAccept(response -> {
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
-                if (!response.isSuccess()) {
-                    player.sendMessage(config.getMessage("connection-error"));
-                    return;
-                }
+        PendingVoteStore store = plugin.getPendingVoteStore();
 
-                VoteEvent[] allPendingVotes = response.getData();
+        // Cache déjà chargé: réponse immédiate sans appel HTTP
+        if (store.isLoaded()) {
+            claimPendingVotes(player, store.getPendingVotes(player));
+            return true;
+        }
 
-                if (allPendingVotes == null || allPendingVotes.length == 0) {
-                    player.sendMessage(config.getMessage("no-pending-rewards"));
+        // Sinon charger le cache une fois puis répondre
+        store.refresh().thenAccept(loaded -> {
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (!loaded) {
+                    player.sendMessage(config.getMessage("connection-error"));
                     return;
                 }
 
-                // Filtrer les votes pour ce joueur par username
-                String playerName = player.getName();
-                VoteEvent[] pendingVotes = java.util.Arrays.stream(allPendingVotes)
-                        .filter(v -> playerName.equalsIgnoreCase(v.getPlayerName()))
-                        .toArray(VoteEvent[]::new);
+                claimPendingVotes(player, store.getPendingVotes(player));
+            });
+        });
 
-                if (pendingVotes.length == 0) {
-                    player.sendMessage(config.getMessage("no-pending-rewards"));
-                    return;
-                }
+        return true;
+    }
 
-                // Afficher le header
-                player.sendMessage(Component.empty());
-                player.sendMessage(Component.text("═══ RÉCOMPENSES DE VOTE ═══", NamedTextColor.GOLD));
-                player.sendMessage(Component.text(pendingVotes.length + " vote(s) à réclamer!", NamedTextColor.GREEN));
-                player.sendMessage(Component.empty());
-
-                // Distribuer les récompenses
-                RewardManager rewardManager = plugin.getRewardManager();
-                int claimedCount = 0;
-
-                for (VoteEvent vote : pendingVotes) {
-                    boolean claimed = rewardManager.claimRewards(player, vote);
-                    if (claimed) {
-                        claimedCount++;
-                    }
-                }
+    /**
+     * Affiche et réclame les votes en attente du joueur
+     */
+    private void claimPendingVotes(Player player, List<VoteEvent> pendingVotes) {
+        if (pendingVotes.isEmpty()) {
+            player.sendMessage(config.getMessage("no-pending-rewards"));
+            return;
+        }
 
-                // Message de confirmation
-                if (claimedCount > 0) {
-                    player.sendMessage(config.getMessage("reward-claimed"));
-                }
+        // Afficher le header
+        player.sendMessage(Component.empty());
+        player.sendMessage(Component.text("═══ RÉCOMPENSES DE VOTE ═══", NamedTextColor.GOLD));
+        player.sendMessage(Component.text(pendingVotes.size() + " vote(s) à réclamer!", NamedTextColor.GREEN));
+        player.sendMessage(Component.empty());
+
+        // Distribuer les récompenses
+        RewardManager rewardManager = plugin.getRewardManager();
+        int claimedCount = 0;
+
+        for (VoteEvent vote : pendingVotes) {
+            boolean claimed = rewardManager.claimRewards(player, vote);
+            if (claimed) {
+                claimedCount++;
+            }
+        }
 
-                player.sendMessage(Component.text("═══════════════════════════", NamedTextColor.GOLD));
-                player.sendMessage(Component.empty());
-            });
-        }).exceptionally(ex -> {
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
-                player.sendMessage(config.getMessage("connection-error"));
-            });
-            return null;
-        });
+        // Message de confirmation
+        if (claimedCount > 0) {
+            player.sendMessage(config.getMessage("reward-claimed"));
+        }
 
-        return true;
+        player.sendMessage(Component.text("═══════════════════════════", NamedTextColor.GOLD));
+        player.sendMessage(Component.empty());
     }
 }
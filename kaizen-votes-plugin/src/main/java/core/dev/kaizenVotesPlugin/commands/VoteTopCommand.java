@@ -22,7 +22,7 @@ public class VoteTopCommand implements CommandExecutor {
     private final KaizenVotesPlugin plugin;
     private final ConfigManager config;
 
-    private static final int ENTRIES_PER_PAGE = 10;
+    public static final int ENTRIES_PER_PAGE = 10;
 
     public VoteTopCommand(KaizenVotesPlugin plugin) {
         this.plugin = plugin;
@@ -52,8 +52,8 @@ public class VoteTopCommand implements CommandExecutor {
 
         final int currentPage = page;
 
-        // Récupérer le leaderboard depuis l'API
-        plugin.getApiClient().getLeaderboard(page, ENTRIES_PER_PAGE).thenAccept(response -> {
+        // Récupérer le leaderboard (cache, ou API si la page n'a jamais été chargée)
+        plugin.getLeaderboardCache().getPage(page).thenAccept(response -> {
             plugin.getServer().getScheduler().runTask(plugin, () -> {
                 if (!response.isSuccess()) {
                     sender.sendMessage(config.getMessage("connection-error"));
@@ -59,6 +59,70 @@ public class ConfigManager {
             && !wsUrl.isEmpty();
     }
 
+    public int getWebSocketMaxVotesPerTick() {
+        return Math.max(1, config.getInt("api.websocket-max-votes-per-tick", 200));
+    }
+
+    public int getWebSocketHeartbeatTimeout() {
+        return Math.max(1, config.getInt("api.websocket-heartbeat-timeout", 60));
+    }
+
+    public int getWebSocketFailoverDelay() {
+        return Math.max(0, config.getInt("api.websocket-failover-delay", 5));
+    }
+
+    public int getCircuitFailureRate() {
+        return config.getInt("api.circuit-breaker.failure-rate", 50);
+    }
+
+    public long getCircuitSlowCallMillis() {
+        return Math.max(1L, config.getLong("api.circuit-breaker.slow-call-threshold", 5000L));
+    }
+
+    public int getCircuitOpenDuration() {
+        return Math.max(1, config.getInt("api.circuit-breaker.open-duration", 30));
+    }
+
+    public int getBulkheadConcurrency(String group, int defaultValue) {
+        return Math.max(1, config.getInt("api.bulkhead." + group, defaultValue));
+    }
+
+    public boolean isRateLimitEnabled() {
+        return config.getBoolean("api.rate-limit.enabled", true);
+    }
+
+    public double getRateLimitRequestsPerSecond() {
+        return Math.max(0.1, config.getDouble("api.rate-limit.requests-per-second", 20.0));
+    }
+
+    public int getRateLimitBurst() {
+        return Math.max(1, config.getInt("api.rate-limit.burst", 40));
+    }
+
+    public double getRateLimitGroupRate(String group, double defaultValue) {
+        return Math.max(0.1, config.getDouble("api.rate-limit.groups." + group, defaultValue));
+    }
+
+    public int getRateLimitMaxWait() {
+        return Math.max(0, config.getInt("api.rate-limit.max-wait", 10));
+    }
+
+    public int getPollMinInterval() {
+        return Math.max(1, config.getInt("api.poll-min-interval", 1));
+    }
+
+    public int getPollMaxInterval() {
+        return Math.max(getPollMinInterval(), config.getInt("api.poll-max-interval", 60));
+    }
+
+    public int getPollCursorMargin() {
+        return Math.max(0, config.getInt("api.poll-cursor-margin", 50));
+    }
+
+    public int getCoalesceTtlMillis() {
+        return Math.max(0, config.getInt("api.get-coalesce-ttl", 0));
+    }
+
     // ==================== Auth Configuration ====================
 
     public String getServerToken() {
@@ -111,6 +175,26 @@ public class ConfigManager {
         return config.getInt("rewards.expiration-days", 30);
     }
 
+    public int getPendingVotesRefreshInterval() {
+        return config.getInt("rewards.pending-refresh-interval", 60);
+    }
+
+    public long getCommandTickBudgetNanos() {
+        return Math.max(0L, config.getLong("rewards.command-tick-budget-nanos", 2_000_000L));
+    }
+
+    public int getClaimMaxAttempts() {
+        return Math.max(1, config.getInt("rewards.claim-max-attempts", 4));
+    }
+
+    public boolean isClaimHedgingEnabled() {
+        return config.getBoolean("rewards.claim-hedging", false);
+    }
+
+    public int getVoteDedupWindow() {
+        return Math.max(1, config.getInt("rewards.dedup-window", 600));
+    }
+
     // ==================== Stats Configuration ====================
 
     public boolean isStatsEnabled() {
@@ -121,6 +205,38 @@ public class ConfigManager {
         return config.getInt("stats.sync-interval", 60);
     }
 
+    public int getLeaderboardCacheTtl() {
+        return Math.max(0, config.getInt("stats.leaderboard-cache-ttl", 60));
+    }
+
+    // ==================== Metrics Configuration ====================
+
+    public boolean isMetricsEnabled() {
+        return config.getBoolean("metrics.enabled", false);
+    }
+
+    public String getMetricsBindAddress() {
+        return config.getString("metrics.bind-address", "127.0.0.1");
+    }
+
+    public int getMetricsPort() {
+        return config.getInt("metrics.port", 9464);
+    }
+
+    // ==================== Performance Configuration ====================
+
+    public boolean isVirtualThreadsEnabled() {
+        return config.getBoolean("performance.virtual-threads", false);
+    }
+
+    public int getHttpMaxRequests() {
+        return config.getInt("performance.http-max-requests", 64);
+    }
+
+    public int getHttpMaxRequestsPerHost() {
+        return config.getInt("performance.http-max-requests-per-host", 32);
+    }
+
     // ==================== Reminders Configuration ====================
 
     public boolean isRemindersEnabled() {
@@ -135,6 +251,14 @@ public class ConfigManager {
         return config.getInt("reminders.join-delay", 5);
     }
 
+    public int getJoinBatchWindowTicks() {
+        return Math.max(1, config.getInt("reminders.join-batch-window", 20));
+    }
+
+    public int getJoinSpreadTicks() {
+        return Math.max(1, config.getInt("reminders.join-spread-ticks", 40));
+    }
+
     // ==================== Language ====================
 
     public String getLanguage() {
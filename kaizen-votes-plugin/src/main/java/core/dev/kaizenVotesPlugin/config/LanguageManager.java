@@ -2,7 +2,6 @@ package core.dev.kaizenVotesPlugin.config;
 
 import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
@@ -11,7 +10,9 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Manages language/translations for the plugin.
@@ -24,6 +25,9 @@ public class LanguageManager {
     private FileConfiguration fallbackMessages;
     private String currentLanguage;
 
+    // Messages compiled with the prefix, replaced as a whole on each load
+    private volatile Map<String, MessageTemplate> templates = Map.of();
+
     private static final String[] SUPPORTED_LANGUAGES = {"en", "fr"};
     private static final String DEFAULT_LANGUAGE = "en";
 
@@ -68,7 +72,33 @@ public class LanguageManager {
             fallbackMessages = messages;
         }
 
-        plugin.getLogger().info("Loaded language: " + currentLanguage);
+        templates = compileTemplates();
+
+        plugin.getLogger().info("Loaded language: " + currentLanguage + " (" + templates.size() + " messages)");
+    }
+
+    /**
+     * Compile every message key (current language and fallback) with the prefix.
+     */
+    private Map<String, MessageTemplate> compileTemplates() {
+        Set<String> keys = new HashSet<>();
+        for (FileConfiguration source : new FileConfiguration[]{messages, fallbackMessages}) {
+            if (source == null) {
+                continue;
+            }
+            for (String key : source.getKeys(true)) {
+                if (source.isString(key)) {
+                    keys.add(key);
+                }
+            }
+        }
+
+        String prefix = getRawMessage("prefix");
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        for (String key : keys) {
+            compiled.put(key, MessageTemplate.compile(prefix + getRawMessage(key)));
+        }
+        return compiled;
     }
 
     /**
@@ -111,7 +141,7 @@ public class LanguageManager {
      * Get a raw message string from the language file.
      */
     public String getRawMessage(String key) {
-        String message = messages.getString(key);
+        String message = messages != null ? messages.getString(key) : null;
         if (message == null && fallbackMessages != null) {
             message = fallbackMessages.getString(key);
         }
@@ -122,20 +152,12 @@ public class LanguageManager {
      * Get a formatted message with prefix as Component.
      */
     public Component getMessage(String key, Map<String, String> placeholders) {
-        String prefix = getRawMessage("prefix");
-        String message = getRawMessage(key);
-
-        String fullMessage = prefix + message;
-
-        // Replace placeholders
-        if (placeholders != null) {
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                fullMessage = fullMessage.replace("{" + entry.getKey() + "}", entry.getValue());
-            }
+        MessageTemplate template = templates.get(key);
+        if (template == null) {
+            // Unknown key: compiled on the fly, renders the "missing message" text
+            template = MessageTemplate.compile(getRawMessage("prefix") + getRawMessage(key));
         }
-
-        // Convert legacy color codes (&) to Adventure format
-        return LegacyComponentSerializer.legacyAmpersand().deserialize(fullMessage);
+        return template.render(placeholders);
     }
 
     /**
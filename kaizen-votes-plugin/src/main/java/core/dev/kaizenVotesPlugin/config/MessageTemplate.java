@@ -0,0 +1,149 @@
+package core.dev.kaizenVotesPlugin.config;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message compiled once into literal and placeholder segments.
+ * Legacy color codes are parsed at compile time; rendering only looks up
+ * placeholder values and wraps them in the style active at their position.
+ */
+public final class MessageTemplate {
+
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacyAmpersand();
+
+    private final Segment[] segments;
+    // Fully rendered message when the template has no placeholder
+    private final Component constant;
+
+    private MessageTemplate(Segment[] segments) {
+        this.segments = segments;
+        this.constant = hasPlaceholders(segments) ? null : build(segments, null);
+    }
+
+    /**
+     * Compile a raw message using legacy ampersand color codes and {placeholders}.
+     */
+    public static MessageTemplate compile(String raw) {
+        List<Segment> segments = new ArrayList<>();
+        flatten(LEGACY.deserialize(raw), Style.empty(), segments);
+        return new MessageTemplate(segments.toArray(new Segment[0]));
+    }
+
+    /**
+     * Render the message. Placeholders missing from the map are left as written.
+     */
+    public Component render(Map<String, String> placeholders) {
+        if (constant != null) {
+            return constant;
+        }
+        return build(segments, placeholders);
+    }
+
+    private static Component build(Segment[] segments, Map<String, String> placeholders) {
+        TextComponent.Builder builder = Component.text();
+        for (Segment segment : segments) {
+            builder.append(segment.render(placeholders));
+        }
+        return builder.build();
+    }
+
+    private static boolean hasPlaceholders(Segment[] segments) {
+        for (Segment segment : segments) {
+            if (segment.placeholder != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Walk the parsed component tree and split each text node into segments,
+     * each carrying its effective (inherited) style.
+     */
+    private static void flatten(Component component, Style parentStyle, List<Segment> out) {
+        Style style = component.style().merge(parentStyle, Style.Merge.Strategy.IF_ABSENT_ON_TARGET);
+
+        if (component instanceof TextComponent text && !text.content().isEmpty()) {
+            split(text.content(), style, out);
+        }
+
+        for (Component child : component.children()) {
+            flatten(child, style, out);
+        }
+    }
+
+    private static void split(String content, Style style, List<Segment> out) {
+        int start = 0;
+        while (start < content.length()) {
+            int open = content.indexOf('{', start);
+            int close = open >= 0 ? content.indexOf('}', open + 1) : -1;
+            if (open < 0 || close < 0) {
+                break;
+            }
+
+            String name = content.substring(open + 1, close);
+            if (name.isEmpty() || name.indexOf('{') >= 0) {
+                // Not a placeholder, keep the brace as text
+                out.add(Segment.literal(content.substring(start, open + 1), style));
+                start = open + 1;
+                continue;
+            }
+
+            if (open > start) {
+                out.add(Segment.literal(content.substring(start, open), style));
+            }
+            out.add(Segment.placeholder(name, style));
+            start = close + 1;
+        }
+
+        if (start < content.length()) {
+            out.add(Segment.literal(content.substring(start), style));
+        }
+    }
+
+    /**
+     * Literal text (pre-built component) or named placeholder
+     */
+    private static final class Segment {
+        final Component literal;
+        final String placeholder;
+        final Style style;
+
+        private Segment(Component literal, String placeholder, Style style) {
+            this.literal = literal;
+            this.placeholder = placeholder;
+            this.style = style;
+        }
+
+        static Segment literal(String text, Style style) {
+            return new Segment(Component.text(text, style), null, style);
+        }
+
+        static Segment placeholder(String name, Style style) {
+            return new Segment(null, name, style);
+        }
+
+        Component render(Map<String, String> placeholders) {
+            if (placeholder == null) {
+                return literal;
+            }
+
+            String value = placeholders != null ? placeholders.get(placeholder) : null;
+            if (value == null) {
+                return Component.text("{" + placeholder + "}", style);
+            }
+            // Values may carry their own color codes, as before compilation
+            if (value.indexOf(LegacyComponentSerializer.AMPERSAND_CHAR) >= 0) {
+                return LEGACY.deserialize(value).applyFallbackStyle(style);
+            }
+            return Component.text(value, style);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package core.dev.kaizenVotesPlugin.listeners;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import core.dev.kaizenVotesPlugin.rewards.PendingVoteStore;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Regroupe les connexions des joueurs pour lisser les pics (redémarrage, bascule de proxy).
+ * Les connexions sont collectées sur une courte fenêtre, les votes en attente sont résolus
+ * en une seule fois pour tout le lot et réclamés, puis les messages sont répartis sur les ticks suivants.
+ * Toutes les méthodes s'exécutent sur le thread principal.
+ */
+public class JoinBatcher {
+
+    private final KaizenVotesPlugin plugin;
+    private final ConfigManager config;
+
+    // Connexions de la fenêtre en cours
+    private List<Player> window = new ArrayList<>();
+
+    // Messages à envoyer, un joueur par entrée
+    private final Queue<Delivery> deliveries = new ArrayDeque<>();
+    private int deliveriesPerTick = 1;
+    private BukkitTask deliveryTask;
+
+    public JoinBatcher(KaizenVotesPlugin plugin) {
+        this.plugin = plugin;
+        this.config = plugin.getConfigManager();
+    }
+
+    /**
+     * Ajoute une connexion au lot en cours
+     */
+    public void enqueue(Player player) {
+        window.add(player);
+        if (window.size() == 1) {
+            plugin.getServer().getScheduler().runTaskLater(plugin, this::closeWindow, config.getJoinBatchWindowTicks());
+        }
+    }
+
+    /**
+     * Nombre de joueurs en attente de leurs messages de connexion
+     */
+    public int getQueuedDeliveries() {
+        return deliveries.size();
+    }
+
+    /**
+     * Ferme la fenêtre: le lot est traité après le délai de connexion configuré
+     */
+    private void closeWindow() {
+        List<Player> batch = window;
+        window = new ArrayList<>();
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> resolve(batch), config.getReminderJoinDelay() * 20L);
+    }
+
+    /**
+     * Reprend les claims interrompus et résout les votes en attente du lot
+     */
+    private void resolve(List<Player> batch) {
+        batch.removeIf(player -> !player.isOnline());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Reprendre les claims interrompus (crash, déconnexion)
+        for (Player player : batch) {
+            plugin.getRewardManager().recoverClaims(player);
+        }
+
+        PendingVoteStore store = plugin.getPendingVoteStore();
+
+        // Cache déjà chargé: réponse immédiate sans appel HTTP
+        if (store.isLoaded()) {
+            schedule(batch, true);
+            return;
+        }
+
+        // Un seul chargement pour tout le lot
+        store.refresh().thenAccept(loaded ->
+                plugin.getServer().getScheduler().runTask(plugin, () -> schedule(batch, loaded)));
+    }
+
+    /**
+     * Planifie les messages du lot, répartis uniformément sur join-spread-ticks
+     */
+    private void schedule(List<Player> batch, boolean pendingKnown) {
+        PendingVoteStore store = plugin.getPendingVoteStore();
+
+        // Cache non chargé (backend injoignable): ni claim ni annonce, seul le rappel de vote est affiché
+        for (Player player : batch) {
+            List<VoteEvent> pending = pendingKnown ? store.getPendingVotes(player) : Collections.emptyList();
+            // Votes reçus pendant l'absence du joueur: réclamés maintenant, seuls les autres sont annoncés
+            int claiming = pendingKnown ? plugin.getRewardManager().claimPendingVotes(player) : 0;
+            deliveries.add(new Delivery(player, pending.size() - claiming));
+        }
+
+        int spreadTicks = config.getJoinSpreadTicks();
+        deliveriesPerTick = Math.max(deliveriesPerTick, (deliveries.size() + spreadTicks - 1) / spreadTicks);
+
+        if (deliveryTask == null) {
+            deliveryTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::deliver, 0L, 1L);
+        }
+    }
+
+    private void deliver() {
+        for (int i = 0; i < deliveriesPerTick; i++) {
+            Delivery delivery = deliveries.poll();
+            if (delivery == null) {
+                break;
+            }
+            if (!delivery.player.isOnline()) {
+                continue;
+            }
+
+            if (delivery.pendingVotes > 0) {
+                notifyPendingRewards(delivery.player, delivery.pendingVotes);
+            }
+
+            // Afficher le rappel de vote si activé
+            if (config.isRemindersEnabled() && config.isReminderOnJoinEnabled()) {
+                showVoteReminder(delivery.player);
+            }
+        }
+
+        if (deliveries.isEmpty()) {
+            deliveryTask.cancel();
+            deliveryTask = null;
+            deliveriesPerTick = 1;
+        }
+    }
+
+    /**
+     * Notifie le joueur de ses votes en attente
+     */
+    private void notifyPendingRewards(Player player, int pendingVotes) {
+        player.sendMessage(Component.empty());
+        player.sendMessage(Component.text("[Kaizen] ", NamedTextColor.GOLD)
+                .append(Component.text("Tu as ", NamedTextColor.WHITE))
+                .append(Component.text(pendingVotes, NamedTextColor.GREEN))
+                .append(Component.text(" récompense(s) de vote en attente!", NamedTextColor.WHITE)));
+        player.sendMessage(Component.text("[Kaizen] ", NamedTextColor.GOLD)
+                .append(Component.text("Tape ", NamedTextColor.GRAY))
+                .append(Component.text("/rewards", NamedTextColor.AQUA))
+                .append(Component.text(" pour les réclamer!", NamedTextColor.GRAY)));
+        player.sendMessage(Component.empty());
+    }
+
+    /**
+     * Affiche le rappel de vote au joueur
+     */
+    private void showVoteReminder(Player player) {
+        player.sendMessage(config.getMessage("vote-reminder"));
+    }
+
+    private static final class Delivery {
+        final Player player;
+        final int pendingVotes;
+
+        Delivery(Player player, int pendingVotes) {
+            this.player = player;
+            this.pendingVotes = pendingVotes;
+        }
+    }
+}
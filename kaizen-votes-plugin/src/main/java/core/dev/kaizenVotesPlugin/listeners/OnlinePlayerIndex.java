@@ -0,0 +1,109 @@
+package core.dev.kaizenVotesPlugin.listeners;
+
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index des joueurs en ligne, maintenu par les événements de connexion/déconnexion
+ * et lisible depuis n'importe quel thread (callbacks HTTP, WebSocket) sans passer
+ * par la liste des joueurs de Bukkit. La recherche par pseudo est exacte (insensible à la casse).
+ */
+public class OnlinePlayerIndex implements Listener {
+
+    private final Map<UUID, Player> byUuid = new ConcurrentHashMap<>();
+    private final Map<String, Player> byName = new ConcurrentHashMap<>();
+
+    /**
+     * Indexe les joueurs déjà connectés (activation ou reload du plugin)
+     */
+    public void addAll(Iterable<? extends Player> players) {
+        for (Player player : players) {
+            add(player);
+        }
+    }
+
+    // Avant les autres listeners, pour qu'ils trouvent le joueur dans l'index
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        add(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        byUuid.remove(player.getUniqueId(), player);
+        byName.remove(key(player.getName()), player);
+    }
+
+    private void add(Player player) {
+        byUuid.put(player.getUniqueId(), player);
+        byName.put(key(player.getName()), player);
+    }
+
+    /**
+     * Joueur en ligne par UUID (null si hors ligne)
+     */
+    public Player getPlayer(UUID uuid) {
+        return uuid != null ? byUuid.get(uuid) : null;
+    }
+
+    /**
+     * Joueur en ligne par pseudo exact, insensible à la casse (null si hors ligne)
+     */
+    public Player getPlayer(String name) {
+        return name != null ? byName.get(key(name)) : null;
+    }
+
+    /**
+     * Joueur en ligne ayant voté: par UUID si le vote en porte un valide, sinon par pseudo
+     */
+    public Player getPlayer(VoteEvent vote) {
+        UUID uuid = parseUuid(vote.getPlayerUuid());
+        Player player = getPlayer(uuid);
+        return player != null ? player : getPlayer(vote.getPlayerName());
+    }
+
+    public boolean isOnline(VoteEvent vote) {
+        return getPlayer(vote) != null;
+    }
+
+    /**
+     * Nombre de joueurs en ligne
+     */
+    public int size() {
+        return byUuid.size();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * UUID avec ou sans tirets (null si absent ou invalide)
+     */
+    private static UUID parseUuid(String raw) {
+        if (raw == null || raw.isEmpty()) {
+            return null;
+        }
+        String value = raw;
+        if (value.length() == 32) {
+            value = value.substring(0, 8) + "-" + value.substring(8, 12) + "-" + value.substring(12, 16)
+                    + "-" + value.substring(16, 20) + "-" + value.substring(20);
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
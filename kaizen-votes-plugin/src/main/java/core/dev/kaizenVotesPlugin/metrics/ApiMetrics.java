@@ -0,0 +1,181 @@
+package core.dev.kaizenVotesPlugin.metrics;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Métriques des appels HTTP vers l'API Kaizen, par endpoint.
+ * Branché sur OkHttp comme EventListener: chaque appel est mesuré de bout en bout
+ * (latence, phases DNS/connexion/TLS, octets, code HTTP, appels en cours).
+ */
+public class ApiMetrics implements EventListener.Factory {
+
+    private static final Pattern NUMERIC = Pattern.compile("\\d+");
+    private static final Pattern UUID = Pattern.compile("[0-9a-fA-F]{8}-?[0-9a-fA-F]{4}-?[0-9a-fA-F]{4}-?[0-9a-fA-F]{4}-?[0-9a-fA-F]{12}");
+
+    // Préfixe commun des routes, retiré des noms d'endpoints
+    private static final String API_PREFIX = "/api/v1";
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public @NotNull EventListener create(@NotNull Call call) {
+        return new CallListener(endpointOf(call.request()));
+    }
+
+    /**
+     * Compte un appel servi par une requête identique déjà en cours (aucun appel réseau)
+     */
+    public void recordCoalesced(Request request) {
+        endpointOf(request).callCoalesced();
+    }
+
+    private EndpointMetrics endpointOf(Request request) {
+        String endpoint = request.method() + " " + template(request.url().encodedPath());
+        return endpoints.computeIfAbsent(endpoint, EndpointMetrics::new);
+    }
+
+    /**
+     * Métriques de tous les endpoints appelés, les plus sollicités en premier
+     */
+    public List<EndpointMetrics> getEndpoints() {
+        List<EndpointMetrics> list = new ArrayList<>(endpoints.values());
+        list.sort(Comparator.comparingLong((EndpointMetrics m) -> m.getLatency().getCount()).reversed());
+        return list;
+    }
+
+    /**
+     * Normalise un chemin en remplaçant les identifiants par des variables,
+     * ex: /api/v1/votes/42/claim -> /votes/{id}/claim
+     */
+    static String template(String path) {
+        if (path.startsWith(API_PREFIX)) {
+            path = path.substring(API_PREFIX.length());
+        }
+
+        String[] segments = path.split("/");
+        StringBuilder builder = new StringBuilder();
+        String previous = "";
+        for (String segment : segments) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            builder.append('/');
+            if (previous.equals("servers")) {
+                builder.append("{server}");
+            } else if (NUMERIC.matcher(segment).matches()) {
+                builder.append("{id}");
+            } else if (UUID.matcher(segment).matches()) {
+                builder.append("{uuid}");
+            } else {
+                builder.append(segment);
+            }
+            previous = segment;
+        }
+        return builder.length() == 0 ? "/" : builder.toString();
+    }
+
+    /**
+     * Mesures d'un appel, reportées dans les métriques de son endpoint à la fin de l'appel
+     */
+    private static final class CallListener extends EventListener {
+        private final EndpointMetrics metrics;
+
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long tlsStart;
+        private long bytesSent;
+        private long bytesReceived;
+        private int statusCode = EndpointMetrics.NETWORK_FAILURE;
+
+        CallListener(EndpointMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void callStart(@NotNull Call call) {
+            callStart = System.nanoTime();
+            metrics.callStarted();
+        }
+
+        @Override
+        public void dnsStart(@NotNull Call call, @NotNull String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(@NotNull Call call, @NotNull String domainName, @NotNull List<InetAddress> addresses) {
+            metrics.getDns().record(System.nanoTime() - dnsStart);
+        }
+
+        @Override
+        public void connectStart(@NotNull Call call, @NotNull InetSocketAddress address, @NotNull Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(@NotNull Call call) {
+            tlsStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(@NotNull Call call, @Nullable Handshake handshake) {
+            metrics.getTls().record(System.nanoTime() - tlsStart);
+        }
+
+        @Override
+        public void connectEnd(@NotNull Call call, @NotNull InetSocketAddress address, @NotNull Proxy proxy,
+                               @Nullable Protocol protocol) {
+            metrics.getConnect().record(System.nanoTime() - connectStart);
+        }
+
+        @Override
+        public void requestHeadersEnd(@NotNull Call call, @NotNull Request request) {
+            bytesSent += request.headers().byteCount();
+        }
+
+        @Override
+        public void requestBodyEnd(@NotNull Call call, long byteCount) {
+            bytesSent += byteCount;
+        }
+
+        @Override
+        public void responseHeadersEnd(@NotNull Call call, @NotNull Response response) {
+            statusCode = response.code();
+            bytesReceived += response.headers().byteCount();
+        }
+
+        @Override
+        public void responseBodyEnd(@NotNull Call call, long byteCount) {
+            bytesReceived += byteCount;
+        }
+
+        @Override
+        public void callEnd(@NotNull Call call) {
+            metrics.callFinished(System.nanoTime() - callStart, statusCode, bytesSent, bytesReceived);
+        }
+
+        @Override
+        public void callFailed(@NotNull Call call, @NotNull IOException ioe) {
+            metrics.callFinished(System.nanoTime() - callStart, statusCode, bytesSent, bytesReceived);
+        }
+    }
+}
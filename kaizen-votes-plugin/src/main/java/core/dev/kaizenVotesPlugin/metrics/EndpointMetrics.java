@@ -0,0 +1,118 @@
+package core.dev.kaizenVotesPlugin.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métriques d'un endpoint de l'API (méthode + chemin normalisé)
+ */
+public class EndpointMetrics {
+
+    // Code utilisé pour les appels sans réponse HTTP (connexion, timeout...)
+    public static final int NETWORK_FAILURE = 0;
+
+    private final String endpoint;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram dns = new LatencyHistogram();
+    private final LatencyHistogram connect = new LatencyHistogram();
+    private final LatencyHistogram tls = new LatencyHistogram();
+
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void callStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    void callFinished(long nanos, int statusCode, long sent, long received) {
+        inFlight.decrementAndGet();
+        latency.record(nanos);
+        bytesSent.addAndGet(sent);
+        bytesReceived.addAndGet(received);
+        statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    }
+
+    void callCoalesced() {
+        coalesced.increment();
+    }
+
+    /**
+     * Méthode et chemin normalisé, ex: "POST /votes/{id}/claim"
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Latence totale des appels (de l'envoi à la fin de la lecture du corps)
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public LatencyHistogram getDns() {
+        return dns;
+    }
+
+    public LatencyHistogram getConnect() {
+        return connect;
+    }
+
+    public LatencyHistogram getTls() {
+        return tls;
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Nombre d'appels servis par une requête identique déjà en cours
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Nombre d'appels par code HTTP (0 = échec réseau), triés par code
+     */
+    public Map<Integer, Long> getStatusCodes() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCodes.forEach((code, count) -> counts.put(code, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Nombre d'appels en erreur (échec réseau ou code HTTP >= 400)
+     */
+    public long getErrorCount() {
+        long errors = 0;
+        for (Map.Entry<Integer, LongAdder> entry : statusCodes.entrySet()) {
+            int code = entry.getKey();
+            if (code == NETWORK_FAILURE || code >= 400) {
+                errors += entry.getValue().sum();
+            }
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,119 @@
+package core.dev.kaizenVotesPlugin.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramme de latences sans verrou, à seaux logarithmiques (4 seaux par puissance de 2,
+ * soit environ 19% de précision) de 1µs à environ 70 minutes.
+ * Les percentiles retournent la borne haute du seau concerné.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS_PER_DOUBLING = 4;
+    static final int BUCKET_COUNT = 32 * BUCKETS_PER_DOUBLING;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Enregistre une durée
+     */
+    public void record(long nanos) {
+        long micros = Math.max(1L, nanos / 1000L);
+        buckets.incrementAndGet(bucketOf(micros));
+        count.incrementAndGet();
+        sumMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Latence moyenne (en microsecondes)
+     */
+    public long getMeanMicros() {
+        long n = count.get();
+        return n == 0 ? 0 : sumMicros.get() / n;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Somme des durées enregistrées (en microsecondes)
+     */
+    public long getSumMicros() {
+        return sumMicros.get();
+    }
+
+    /**
+     * Nombre de mesures inférieures à 2^log2Micros microsecondes (bornes exactes des seaux)
+     */
+    public long getCountBelow(int log2Micros) {
+        int end = log2Micros >= BUCKET_COUNT / BUCKETS_PER_DOUBLING
+                ? BUCKET_COUNT
+                : Math.max(0, log2Micros * BUCKETS_PER_DOUBLING);
+        long total = 0;
+        for (int i = 0; i < end; i++) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Percentile approché (en microsecondes), 0 si aucune mesure
+     * @param percentile Entre 0 et 100 (ex: 95)
+     */
+    public long getPercentileMicros(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        addBucketsTo(snapshot);
+        return percentileOf(snapshot, percentile, maxMicros.get());
+    }
+
+    /**
+     * Ajoute le contenu des seaux à un tableau de BUCKET_COUNT compteurs
+     */
+    void addBucketsTo(long[] totals) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            totals[i] += buckets.get(i);
+        }
+    }
+
+    /**
+     * Percentile approché d'un ensemble de seaux, borné par la plus grande mesure
+     */
+    static long percentileOf(long[] snapshot, double percentile, long maxMicros) {
+        long total = 0;
+        for (long bucket : snapshot) {
+            total += bucket;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBoundMicros(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    private static int bucketOf(long micros) {
+        int index = (int) Math.floor(Math.log(micros) / Math.log(2) * BUCKETS_PER_DOUBLING);
+        return Math.max(0, Math.min(BUCKET_COUNT - 1, index));
+    }
+
+    private static long upperBoundMicros(int bucket) {
+        return (long) Math.ceil(Math.pow(2, (bucket + 1) / (double) BUCKETS_PER_DOUBLING));
+    }
+}
@@ -0,0 +1,311 @@
+package core.dev.kaizenVotesPlugin.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.CircuitBreaker;
+import core.dev.kaizenVotesPlugin.api.EndpointGroup;
+import core.dev.kaizenVotesPlugin.api.KaizenApiClient;
+import core.dev.kaizenVotesPlugin.api.KaizenWebSocketClient;
+import core.dev.kaizenVotesPlugin.api.RateLimiter;
+import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import core.dev.kaizenVotesPlugin.rewards.RewardCommandExecutor;
+import core.dev.kaizenVotesPlugin.stats.AdaptivePollScheduler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Endpoint HTTP local exposant les métriques du plugin au format OpenMetrics (Prometheus).
+ * Les valeurs sont lues depuis des compteurs sans verrou: un scrape ne touche jamais
+ * le thread principal.
+ */
+public class OpenMetricsServer {
+
+    private static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    // Bornes des histogrammes: puissances de 2 de 128µs à ~33s
+    private static final int MIN_BUCKET_LOG2 = 7;
+    private static final int MAX_BUCKET_LOG2 = 25;
+
+    private final KaizenVotesPlugin plugin;
+    private final ConfigManager config;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public OpenMetricsServer(KaizenVotesPlugin plugin) {
+        this.plugin = plugin;
+        this.config = plugin.getConfigManager();
+    }
+
+    /**
+     * Démarre l'écoute si activée dans la configuration
+     */
+    public void start() {
+        if (!config.isMetricsEnabled() || server != null) {
+            return;
+        }
+
+        String address = config.getMetricsBindAddress();
+        int port = config.getMetricsPort();
+        try {
+            server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Impossible de démarrer l'endpoint de métriques sur " + address + ":" + port + ": " + e.getMessage());
+            return;
+        }
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Kaizen-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handleScrape);
+        server.start();
+
+        plugin.getLogger().info("Métriques OpenMetrics exposées sur http://" + address + ":" + port + "/metrics");
+    }
+
+    /**
+     * Arrête l'écoute
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handleScrape(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Construit l'exposition complète
+     */
+    String render() {
+        StringBuilder out = new StringBuilder(4096);
+        VoteMetrics votes = plugin.getVoteMetrics();
+
+        // Votes
+        family(out, "kaizen_votes_received", "counter", "Votes received from the backend");
+        sample(out, "kaizen_votes_received_total", "source=\"websocket\"", votes.getVotesFromWebSocket());
+        sample(out, "kaizen_votes_received_total", "source=\"polling\"", votes.getVotesFromPolling());
+
+        family(out, "kaizen_votes_duplicates", "counter", "Votes and claims dropped as recent duplicates");
+        sample(out, "kaizen_votes_duplicates_total", null, votes.getDuplicateVotes());
+
+        family(out, "kaizen_pending_votes", "gauge", "Unclaimed votes in the local store");
+        sample(out, "kaizen_pending_votes", null, plugin.getPendingVoteStore().size());
+
+        // Claims
+        family(out, "kaizen_claims", "counter", "Vote claims by outcome");
+        sample(out, "kaizen_claims_total", "result=\"success\"", votes.getClaimsSucceeded());
+        sample(out, "kaizen_claims_total", "result=\"rejected\"", votes.getClaimsFailed());
+        sample(out, "kaizen_claims_total", "result=\"error\"", votes.getClaimsErrored());
+
+        family(out, "kaizen_claim_retries", "counter", "Claim requests retried after a transient error");
+        sample(out, "kaizen_claim_retries_total", null, votes.getClaimRetries());
+
+        family(out, "kaizen_claim_hedges", "counter", "Hedged claim requests sent after the p95 latency");
+        sample(out, "kaizen_claim_hedges_total", null, votes.getClaimHedges());
+
+        // Commandes de récompense
+        histogram(out, "kaizen_reward_command_duration_seconds", "Reward command execution time on the main thread",
+                null, votes.getCommandDuration());
+
+        RewardCommandExecutor commandExecutor = plugin.getRewardManager().getCommandExecutor();
+        family(out, "kaizen_reward_commands_queued", "gauge", "Reward commands waiting for the main thread");
+        sample(out, "kaizen_reward_commands_queued", null, commandExecutor.getQueueDepth());
+
+        // WebSocket
+        KaizenWebSocketClient webSocket = plugin.getWebSocketClient();
+        family(out, "kaizen_websocket_connected", "gauge", "1 when the WebSocket is connected");
+        sample(out, "kaizen_websocket_connected", null, webSocket != null && webSocket.isConnected() ? 1 : 0);
+
+        family(out, "kaizen_websocket_ingest_queued", "gauge", "WebSocket votes waiting for the main thread");
+        sample(out, "kaizen_websocket_ingest_queued", null, webSocket != null ? webSocket.getIncomingQueueDepth() : 0);
+
+        family(out, "kaizen_websocket_reconnects", "counter", "Scheduled WebSocket reconnection attempts");
+        sample(out, "kaizen_websocket_reconnects_total", null, votes.getWebSocketReconnects());
+
+        // Polling
+        AdaptivePollScheduler poller = plugin.getStatsCollector().getVotePoller();
+        if (poller != null) {
+            family(out, "kaizen_poll_interval_seconds", "gauge", "Current vote polling interval");
+            sample(out, "kaizen_poll_interval_seconds", null, poller.getCurrentIntervalTicks() / 20.0);
+
+            family(out, "kaizen_polls", "counter", "Vote polls sent to the backend");
+            sample(out, "kaizen_polls_total", null, poller.getTotalPolls());
+
+            family(out, "kaizen_poll_hits", "counter", "Vote polls that returned at least one vote");
+            sample(out, "kaizen_poll_hits_total", null, poller.getTotalHits());
+        }
+
+        // API
+        renderApi(out, plugin.getApiClient().getMetrics());
+        renderResilience(out, plugin.getApiClient());
+
+        out.append("# EOF\n");
+        return out.toString();
+    }
+
+    private void renderApi(StringBuilder out, ApiMetrics api) {
+        family(out, "kaizen_api_request_duration_seconds", "histogram", "Backend API call latency");
+        for (EndpointMetrics endpoint : api.getEndpoints()) {
+            histogramSamples(out, "kaizen_api_request_duration_seconds", endpointLabel(endpoint), endpoint.getLatency());
+        }
+
+        family(out, "kaizen_api_requests", "counter", "Backend API calls by status code (0 = network failure)");
+        for (EndpointMetrics endpoint : api.getEndpoints()) {
+            for (Map.Entry<Integer, Long> entry : endpoint.getStatusCodes().entrySet()) {
+                sample(out, "kaizen_api_requests_total",
+                        endpointLabel(endpoint) + ",code=\"" + entry.getKey() + "\"", entry.getValue());
+            }
+        }
+
+        family(out, "kaizen_api_requests_coalesced", "counter", "Backend API calls served by an identical in-flight request");
+        for (EndpointMetrics endpoint : api.getEndpoints()) {
+            sample(out, "kaizen_api_requests_coalesced_total", endpointLabel(endpoint), endpoint.getCoalesced());
+        }
+
+        family(out, "kaizen_api_requests_in_flight", "gauge", "Backend API calls in progress");
+        for (EndpointMetrics endpoint : api.getEndpoints()) {
+            sample(out, "kaizen_api_requests_in_flight", endpointLabel(endpoint), endpoint.getInFlight());
+        }
+
+        family(out, "kaizen_api_sent_bytes", "counter", "Bytes sent to the backend API");
+        for (EndpointMetrics endpoint : api.getEndpoints()) {
+            sample(out, "kaizen_api_sent_bytes_total", endpointLabel(endpoint), endpoint.getBytesSent());
+        }
+
+        family(out, "kaizen_api_received_bytes", "counter", "Bytes received from the backend API");
+        for (EndpointMetrics endpoint : api.getEndpoints()) {
+            sample(out, "kaizen_api_received_bytes_total", endpointLabel(endpoint), endpoint.getBytesReceived());
+        }
+    }
+
+    private void renderResilience(StringBuilder out, KaizenApiClient api) {
+        family(out, "kaizen_api_circuit_state", "gauge", "Circuit breaker state per endpoint group (0 closed, 1 half-open, 2 open)");
+        for (EndpointGroup group : EndpointGroup.values()) {
+            CircuitBreaker.State state = api.getCircuitBreaker(group).getState();
+            sample(out, "kaizen_api_circuit_state", groupLabel(group),
+                    state == CircuitBreaker.State.CLOSED ? 0 : state == CircuitBreaker.State.HALF_OPEN ? 1 : 2);
+        }
+
+        family(out, "kaizen_api_circuit_opened", "counter", "Times the circuit breaker opened");
+        for (EndpointGroup group : EndpointGroup.values()) {
+            sample(out, "kaizen_api_circuit_opened_total", groupLabel(group), api.getCircuitBreaker(group).getTimesOpened());
+        }
+
+        family(out, "kaizen_api_bulkhead_active", "gauge", "Backend calls running per endpoint group");
+        for (EndpointGroup group : EndpointGroup.values()) {
+            sample(out, "kaizen_api_bulkhead_active", groupLabel(group), api.getBulkhead(group).getActive());
+        }
+
+        family(out, "kaizen_api_bulkhead_queued", "gauge", "Backend calls waiting for a slot per endpoint group");
+        for (EndpointGroup group : EndpointGroup.values()) {
+            sample(out, "kaizen_api_bulkhead_queued", groupLabel(group), api.getBulkhead(group).getQueued());
+        }
+
+        family(out, "kaizen_api_bulkhead_rejected", "counter", "Backend calls rejected because the group queue was full");
+        for (EndpointGroup group : EndpointGroup.values()) {
+            sample(out, "kaizen_api_bulkhead_rejected_total", groupLabel(group), api.getBulkhead(group).getRejected());
+        }
+
+        RateLimiter limiter = api.getRateLimiter();
+        if (limiter == null) {
+            return;
+        }
+        family(out, "kaizen_api_ratelimit_tokens", "gauge", "Tokens available in the global rate limit bucket");
+        sample(out, "kaizen_api_ratelimit_tokens", null, limiter.getAvailableTokens());
+
+        family(out, "kaizen_api_ratelimit_queued", "gauge", "Requests waiting for a rate limit token per endpoint group");
+        for (EndpointGroup group : EndpointGroup.values()) {
+            sample(out, "kaizen_api_ratelimit_queued", groupLabel(group), limiter.getQueued(group));
+        }
+
+        family(out, "kaizen_api_ratelimit_delayed", "counter", "Requests delayed by the rate limit per endpoint group");
+        for (EndpointGroup group : EndpointGroup.values()) {
+            sample(out, "kaizen_api_ratelimit_delayed_total", groupLabel(group), limiter.getDelayed(group));
+        }
+
+        family(out, "kaizen_api_ratelimit_dropped", "counter", "Low priority requests dropped by the rate limit per endpoint group");
+        for (EndpointGroup group : EndpointGroup.values()) {
+            sample(out, "kaizen_api_ratelimit_dropped_total", groupLabel(group), limiter.getDropped(group));
+        }
+    }
+
+    private static String groupLabel(EndpointGroup group) {
+        return "group=\"" + group.getKey() + "\"";
+    }
+
+    private static String endpointLabel(EndpointMetrics endpoint) {
+        return "endpoint=\"" + escape(endpoint.getEndpoint()) + "\"";
+    }
+
+    private static void family(StringBuilder out, String name, String type, String help) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (labels != null && !labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static void histogram(StringBuilder out, String name, String help, String labels, LatencyHistogram histogram) {
+        family(out, name, "histogram", help);
+        histogramSamples(out, name, labels, histogram);
+    }
+
+    private static void histogramSamples(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        String prefix = labels != null && !labels.isEmpty() ? labels + "," : "";
+
+        for (int log2 = MIN_BUCKET_LOG2; log2 <= MAX_BUCKET_LOG2; log2++) {
+            double le = Math.pow(2, log2) / 1_000_000.0;
+            sample(out, name + "_bucket", prefix + "le=\"" + le + "\"", histogram.getCountBelow(log2));
+        }
+        // Toutes les mesures (y compris au-delà de la dernière borne)
+        long total = histogram.getCountBelow(Integer.MAX_VALUE);
+        sample(out, name + "_bucket", prefix + "le=\"+Inf\"", total);
+        sample(out, name + "_count", labels, total);
+        sample(out, name + "_sum", labels, histogram.getSumMicros() / 1_000_000.0);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,67 @@
+package core.dev.kaizenVotesPlugin.metrics;
+
+/**
+ * Histogramme de latences glissant. Deux générations tournent: les mesures vont dans la
+ * génération courante, et la plus ancienne est abandonnée à chaque fenêtre écoulée.
+ * Les percentiles portent donc sur une à deux fenêtres de mesures récentes: une période
+ * lente est oubliée après deux fenêtres au lieu de peser jusqu'au redémarrage.
+ */
+public class RollingLatencyHistogram {
+
+    private final long windowMillis;
+    private LatencyHistogram current = new LatencyHistogram();
+    private LatencyHistogram previous = new LatencyHistogram();
+    private long generationStart;
+
+    /**
+     * @param windowMillis Durée d'une génération
+     */
+    public RollingLatencyHistogram(long windowMillis) {
+        this.windowMillis = windowMillis;
+        this.generationStart = System.currentTimeMillis();
+    }
+
+    /**
+     * Enregistre une durée
+     */
+    public void record(long nanos) {
+        current().record(nanos);
+    }
+
+    /**
+     * Nombre de mesures dans la fenêtre
+     */
+    public synchronized long getCount() {
+        rotateIfNeeded();
+        return current.getCount() + previous.getCount();
+    }
+
+    /**
+     * Percentile approché (en microsecondes) des mesures de la fenêtre, 0 si aucune mesure
+     * @param percentile Entre 0 et 100 (ex: 95)
+     */
+    public synchronized long getPercentileMicros(double percentile) {
+        rotateIfNeeded();
+        long[] snapshot = new long[LatencyHistogram.BUCKET_COUNT];
+        current.addBucketsTo(snapshot);
+        previous.addBucketsTo(snapshot);
+        return LatencyHistogram.percentileOf(snapshot, percentile,
+                Math.max(current.getMaxMicros(), previous.getMaxMicros()));
+    }
+
+    private synchronized LatencyHistogram current() {
+        rotateIfNeeded();
+        return current;
+    }
+
+    private void rotateIfNeeded() {
+        long now = System.currentTimeMillis();
+        if (now - generationStart < windowMillis) {
+            return;
+        }
+        // Plus de deux fenêtres sans mesure: les deux générations ont expiré
+        previous = now - generationStart >= 2 * windowMillis ? new LatencyHistogram() : current;
+        current = new LatencyHistogram();
+        generationStart = now;
+    }
+}
@@ -0,0 +1,127 @@
+package core.dev.kaizenVotesPlugin.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs du cycle de vie des votes, incrémentés sans verrou depuis n'importe quel thread
+ */
+public class VoteMetrics {
+
+    private final LongAdder votesFromWebSocket = new LongAdder();
+    private final LongAdder votesFromPolling = new LongAdder();
+    private final LongAdder duplicateVotes = new LongAdder();
+
+    private final LongAdder claimsSucceeded = new LongAdder();
+    private final LongAdder claimsFailed = new LongAdder();
+    private final LongAdder claimsErrored = new LongAdder();
+    private final LongAdder claimRetries = new LongAdder();
+    private final LongAdder claimHedges = new LongAdder();
+
+    private final LatencyHistogram commandDuration = new LatencyHistogram();
+    private final LongAdder webSocketReconnects = new LongAdder();
+
+    // ==================== Votes ====================
+
+    public void voteReceivedFromWebSocket() {
+        votesFromWebSocket.increment();
+    }
+
+    public void voteReceivedFromPolling() {
+        votesFromPolling.increment();
+    }
+
+    /**
+     * Vote ou claim ignoré car déjà traité récemment
+     */
+    public void duplicateVoteDropped() {
+        duplicateVotes.increment();
+    }
+
+    public long getVotesFromWebSocket() {
+        return votesFromWebSocket.sum();
+    }
+
+    public long getVotesFromPolling() {
+        return votesFromPolling.sum();
+    }
+
+    public long getDuplicateVotes() {
+        return duplicateVotes.sum();
+    }
+
+    // ==================== Claims ====================
+
+    /**
+     * Vote réclamé avec succès auprès du backend
+     */
+    public void claimSucceeded() {
+        claimsSucceeded.increment();
+    }
+
+    /**
+     * Claim refusé par le backend (introuvable, déjà réclamé)
+     */
+    public void claimFailed() {
+        claimsFailed.increment();
+    }
+
+    /**
+     * Claim non abouti (erreur réseau ou serveur), à retenter
+     */
+    public void claimErrored() {
+        claimsErrored.increment();
+    }
+
+    /**
+     * Nouvelle tentative d'un claim après une erreur transitoire
+     */
+    public void claimRetried() {
+        claimRetries.increment();
+    }
+
+    /**
+     * Requête de claim doublée car plus lente que le p95
+     */
+    public void claimHedged() {
+        claimHedges.increment();
+    }
+
+    public long getClaimRetries() {
+        return claimRetries.sum();
+    }
+
+    public long getClaimHedges() {
+        return claimHedges.sum();
+    }
+
+    public long getClaimsSucceeded() {
+        return claimsSucceeded.sum();
+    }
+
+    public long getClaimsFailed() {
+        return claimsFailed.sum();
+    }
+
+    public long getClaimsErrored() {
+        return claimsErrored.sum();
+    }
+
+    // ==================== Commands ====================
+
+    /**
+     * Durée d'exécution des commandes de récompense sur le thread principal
+     */
+    public LatencyHistogram getCommandDuration() {
+        return commandDuration;
+    }
+
+    // ==================== WebSocket ====================
+
+    public void webSocketReconnectScheduled() {
+        webSocketReconnects.increment();
+    }
+
+    public long getWebSocketReconnects() {
+        return webSocketReconnects.sum();
+    }
+}
@@ -0,0 +1,850 @@
+package core.dev.kaizenVotesPlugin.rewards;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.utils.AsyncExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Journal local des claims, en ajout seul dans un fichier mappé en mémoire.
+ * Chaque claim y passe par les étapes demandé → acquitté (commandes reçues) → exécuté.
+ * Les claims non terminés sont rejoués au démarrage et à la reconnexion du joueur,
+ * et abandonnés après le délai d'expiration des récompenses.
+ *
+ * Les écritures ne sont que des copies mémoire; la synchronisation disque (force)
+ * et la compaction sont faites par une tâche asynchrone. Un fichier mappé n'est jamais
+ * redimensionné: à mi-remplissage, la tâche asynchrone réécrit les claims non terminés
+ * dans un nouveau fichier (claims-N.journal, N étant sa génération), puis l'ancien est démappé et supprimé.
+ * Si une rafale remplit le fichier avant, les enregistrements attendent en mémoire la
+ * prochaine réécriture: le thread principal ne crée ni ne synchronise jamais de fichier.
+ */
+public class ClaimJournal {
+
+    private static final int MAGIC = 0x4B5A4A31; // "KZJ1"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_OVERHEAD = 8; // longueur + CRC
+    private static final int INITIAL_CAPACITY = 1 << 20; // 1 Mo
+    private static final int COMPACT_MIN_SIZE = 256 * 1024;
+    private static final Pattern JOURNAL_FILE = Pattern.compile("claims-(\\d+)\\.journal");
+
+    private static final byte REQUESTED = 1;
+    private static final byte ACKNOWLEDGED = 2;
+    private static final byte PROGRESS = 3;
+    private static final byte COMPLETED = 4;
+    private static final byte FAILED = 5;
+    private static final byte EXPIRED = 6;
+
+    // Unsafe.invokeCleaner, null si indisponible (le GC libère alors les mappings)
+    private static final MethodHandle UNMAPPER = findUnmapper();
+
+    private final KaizenVotesPlugin plugin;
+    private final File folder;
+
+    // Claims non terminés (voteId -> entrée), protégés par this
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    // Tient les mappings en vie pendant un force() fait hors du verrou principal
+    private final Object flushLock = new Object();
+    // Anciens mappings, démappés dès qu'aucun force() ne peut plus les utiliser
+    private final List<Mapping> retired = new ArrayList<>();
+
+    // Enregistrements qui ne tenaient plus dans le fichier courant, écrits dans le suivant
+    private final List<byte[]> overflow = new ArrayList<>();
+
+    private MappedByteBuffer buffer;
+    private File currentFile;
+    private long lastGeneration;
+    private boolean dirty = false;
+    private boolean compacting = false;
+
+    private AsyncExecutor.Task maintenanceTask;
+
+    public ClaimJournal(KaizenVotesPlugin plugin) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "journal");
+    }
+
+    /**
+     * Ouvre le journal, rejoue son contenu et démarre la synchronisation en arrière-plan
+     */
+    public void start() {
+        try {
+            open();
+        } catch (IOException e) {
+            plugin.getLogger().severe("Impossible d'ouvrir le journal des claims: " + e.getMessage());
+            return;
+        }
+
+        int unfinished = getUnfinishedCount();
+        if (unfinished > 0) {
+            plugin.getLogger().info("Journal des claims: " + unfinished + " claim(s) non terminé(s) à reprendre");
+        }
+
+        maintenanceTask = plugin.getAsyncExecutor().runTimer(
+                this::maintain,
+                20L,
+                20L // Toutes les secondes
+        );
+    }
+
+    /**
+     * Arrête la tâche de fond, synchronise le journal sur disque et libère son mapping
+     */
+    public void stop() {
+        if (maintenanceTask != null) {
+            maintenanceTask.cancel();
+            maintenanceTask = null;
+        }
+        // Enregistrements en attente d'un fichier plus grand
+        boolean pending;
+        synchronized (this) {
+            pending = !overflow.isEmpty();
+        }
+        if (pending) {
+            compact();
+        }
+        flush();
+
+        synchronized (flushLock) {
+            synchronized (this) {
+                if (buffer != null) {
+                    retired.add(new Mapping(buffer, null));
+                    buffer = null;
+                    currentFile = null;
+                }
+            }
+            releaseRetired();
+        }
+    }
+
+    // ==================== Cycle de vie d'un claim ====================
+
+    /**
+     * Claim envoyé au backend
+     */
+    public synchronized void requested(String voteId, String playerUuid, String playerName) {
+        Entry entry = entries.get(voteId);
+        if (entry == null) {
+            entry = new Entry(voteId, System.currentTimeMillis());
+            entries.put(voteId, entry);
+        }
+        entry.playerUuid = playerUuid != null ? playerUuid : "";
+        entry.playerName = playerName != null ? playerName : "";
+        entry.active = true;
+
+        append(encode(REQUESTED, voteId, entry.playerUuid, entry.playerName, entry.requestedAt));
+    }
+
+    /**
+     * Claim acquitté par le backend avec les commandes à exécuter
+     */
+    public synchronized void acknowledged(String voteId, String[] commands) {
+        Entry entry = entries.get(voteId);
+        if (entry == null) {
+            return;
+        }
+        entry.commands = commands;
+        entry.executed = 0;
+
+        append(encode(ACKNOWLEDGED, voteId, (Object) commands));
+    }
+
+    /**
+     * Nombre de commandes déjà exécutées pour ce claim
+     */
+    public synchronized void progress(String voteId, int executed) {
+        Entry entry = entries.get(voteId);
+        if (entry == null) {
+            return;
+        }
+        entry.executed = Math.max(entry.executed, executed);
+
+        append(encode(PROGRESS, voteId, executed));
+    }
+
+    /**
+     * Toutes les commandes du claim ont été exécutées
+     */
+    public synchronized void completed(String voteId) {
+        if (entries.remove(voteId) != null) {
+            append(encode(COMPLETED, voteId));
+        }
+    }
+
+    /**
+     * Claim refusé par le backend (introuvable ou déjà réclamé): rien à livrer.
+     * Ignoré si les commandes ont déjà été reçues, elles restent à exécuter.
+     */
+    public synchronized void failed(String voteId) {
+        Entry entry = entries.get(voteId);
+        if (entry == null || entry.commands != null) {
+            return;
+        }
+        entries.remove(voteId);
+        append(encode(FAILED, voteId));
+    }
+
+    /**
+     * Le claim n'est plus en cours de traitement (erreur réseau, joueur déconnecté)
+     * et pourra être repris plus tard
+     */
+    public synchronized void release(String voteId) {
+        Entry entry = entries.get(voteId);
+        if (entry != null) {
+            entry.active = false;
+        }
+    }
+
+    /**
+     * Récupère les claims non terminés d'un joueur qui ne sont pas en cours de traitement
+     * et les marque comme repris
+     */
+    public synchronized List<Entry> takeRecoverable(String playerUuid, String playerName) {
+        String uuid = playerUuid != null ? normalizeUuid(playerUuid) : "";
+        List<Entry> recoverable = new ArrayList<>();
+
+        for (Entry entry : entries.values()) {
+            if (entry.active) {
+                continue;
+            }
+
+            boolean matches = (!uuid.isEmpty() && uuid.equals(normalizeUuid(entry.playerUuid)))
+                    || (playerName != null && playerName.equalsIgnoreCase(entry.playerName));
+            if (matches) {
+                entry.active = true;
+                recoverable.add(entry.copy());
+            }
+        }
+
+        return recoverable;
+    }
+
+    /**
+     * Nombre de claims non terminés
+     */
+    public synchronized int getUnfinishedCount() {
+        return entries.size();
+    }
+
+    // ==================== Maintenance ====================
+
+    /**
+     * Synchronise les pages modifiées sur disque, abandonne les claims expirés,
+     * libère les anciens mappings puis compacte si nécessaire (thread asynchrone).
+     * Le fichier est réécrit à mi-remplissage, ou dès que des enregistrements n'y tiennent plus.
+     */
+    private void maintain() {
+        expire(System.currentTimeMillis());
+        flush();
+
+        synchronized (flushLock) {
+            releaseRetired();
+        }
+
+        boolean shouldCompact;
+        synchronized (this) {
+            shouldCompact = buffer != null && !compacting && (!overflow.isEmpty()
+                    || buffer.position() > COMPACT_MIN_SIZE && buffer.position() > buffer.capacity() / 2);
+        }
+
+        if (shouldCompact) {
+            compact();
+        }
+    }
+
+    /**
+     * Abandonne les claims non repris depuis plus longtemps que le délai d'expiration des récompenses
+     * (joueur qui ne revient pas, vote supprimé du backend)
+     */
+    synchronized void expire(long now) {
+        int days = plugin.getConfigManager().getRewardExpirationDays();
+        if (days <= 0 || entries.isEmpty()) {
+            return;
+        }
+
+        long cutoff = now - TimeUnit.DAYS.toMillis(days);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.active || entry.requestedAt >= cutoff) {
+                continue;
+            }
+            iterator.remove();
+            append(encode(EXPIRED, entry.voteId));
+            plugin.getLogger().warning("Journal des claims: vote " + entry.voteId + " de " + entry.playerName
+                    + " abandonné après " + days + " jour(s)" + (entry.commands != null ? " (commandes non exécutées)" : ""));
+        }
+    }
+
+    /**
+     * Force l'écriture des pages modifiées (hors verrou principal, les écritures peuvent continuer)
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            MappedByteBuffer toFlush;
+            synchronized (this) {
+                if (!dirty || buffer == null) {
+                    return;
+                }
+                dirty = false;
+                toFlush = buffer;
+            }
+            toFlush.force();
+        }
+    }
+
+    /**
+     * Réécrit les claims non terminés dans un nouveau fichier puis bascule dessus (thread asynchrone).
+     * Les enregistrements ajoutés pendant la réécriture, dans le fichier courant ou en attente
+     * de place, sont recopiés avant la bascule.
+     */
+    private void compact() {
+        List<byte[]> snapshot;
+        MappedByteBuffer source;
+        int snapshotPosition;
+        int overflowAtSnapshot;
+        int overflowBytes = 0;
+        long nextGeneration;
+
+        synchronized (this) {
+            if (buffer == null || compacting) {
+                return;
+            }
+            compacting = true;
+            snapshot = encodeEntries();
+            source = buffer;
+            snapshotPosition = buffer.position();
+            overflowAtSnapshot = overflow.size();
+            for (byte[] record : overflow) {
+                overflowBytes += RECORD_OVERHEAD + record.length;
+            }
+            nextGeneration = ++lastGeneration;
+        }
+
+        File target = fileFor(nextGeneration);
+        MappedByteBuffer next = null;
+        boolean switched = false;
+        try {
+            // Réécriture hors verrou, en-tête "incomplet" tant que la bascule n'est pas faite
+            next = createFile(target, nextGeneration, capacityFor(snapshot, overflowBytes));
+            for (byte[] record : snapshot) {
+                writeRecord(next, record);
+            }
+            next.force();
+
+            synchronized (this) {
+                if (buffer != source) {
+                    // Journal fermé pendant la réécriture
+                    return;
+                }
+                int tailLength = buffer.position() - snapshotPosition;
+                List<byte[]> pending = overflow.subList(overflowAtSnapshot, overflow.size());
+                int pendingLength = 0;
+                for (byte[] record : pending) {
+                    pendingLength += RECORD_OVERHEAD + record.length;
+                }
+                if (next.remaining() < tailLength + pendingLength + 4) {
+                    plugin.getLogger().warning("Compaction du journal abandonnée: espace insuffisant");
+                    return;
+                }
+
+                // Recopier les enregistrements ajoutés depuis l'instantané
+                for (int i = 0; i < tailLength; i++) {
+                    next.put(buffer.get(snapshotPosition + i));
+                }
+                next.putInt(next.position(), 0);
+                for (byte[] record : pending) {
+                    writeRecord(next, record);
+                }
+                overflow.clear();
+
+                // Aucune écriture disque sous le verrou: le prochain flush() synchronise la fin et l'en-tête
+                switchTo(next, target);
+                switched = true;
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Erreur compaction du journal des claims: " + e.getMessage());
+        } finally {
+            if (!switched) {
+                discard(next, target);
+            }
+            synchronized (this) {
+                compacting = false;
+            }
+        }
+    }
+
+    /**
+     * Valide l'en-tête du nouveau fichier puis en fait le journal courant (appelé sous le verrou).
+     * L'ancien mapping est retiré; il sera démappé et son fichier supprimé après la synchronisation
+     * du nouveau, hors de tout force(). Tant que le nouveau n'est pas synchronisé, l'ancien reste
+     * sur disque et un redémarrage le rejoue avant lui.
+     */
+    private void switchTo(MappedByteBuffer next, File file) {
+        next.put(5, (byte) 1);
+
+        if (buffer != null) {
+            retired.add(new Mapping(buffer, currentFile));
+        }
+        buffer = next;
+        currentFile = file;
+        dirty = true;
+    }
+
+    /**
+     * Démappe les anciens fichiers et les supprime (appelé avec flushLock)
+     */
+    private void releaseRetired() {
+        List<Mapping> released;
+        synchronized (this) {
+            if (retired.isEmpty()) {
+                return;
+            }
+            released = new ArrayList<>(retired);
+            retired.clear();
+        }
+
+        for (Mapping mapping : released) {
+            unmap(mapping.buffer);
+            if (mapping.file != null && !mapping.file.delete() && mapping.file.exists()) {
+                // Fichier plus ancien que le journal courant: ignoré puis supprimé au prochain démarrage
+                plugin.getLogger().fine("Ancien fichier du journal non supprimé: " + mapping.file.getName());
+            }
+        }
+    }
+
+    /**
+     * Abandonne un fichier en cours de préparation
+     */
+    private void discard(MappedByteBuffer mapped, File file) {
+        if (mapped != null) {
+            unmap(mapped);
+        }
+        if (!file.delete() && file.exists()) {
+            plugin.getLogger().fine("Fichier du journal abandonné non supprimé: " + file.getName());
+        }
+    }
+
+    // ==================== Fichiers ====================
+
+    /**
+     * Rejoue les fichiers valides par génération croissante puis repart d'un journal compacté.
+     * Les fichiers existants sont lus sans être mappés, puis supprimés une fois le nouveau validé.
+     */
+    private synchronized void open() throws IOException {
+        folder.mkdirs();
+
+        File[] existing = folder.listFiles((dir, name) -> JOURNAL_FILE.matcher(name).matches());
+        List<JournalFile> valid = new ArrayList<>();
+        if (existing != null) {
+            for (File file : existing) {
+                Matcher matcher = JOURNAL_FILE.matcher(file.getName());
+                if (matcher.matches()) {
+                    lastGeneration = Math.max(lastGeneration, parseGeneration(matcher.group(1)));
+                }
+                JournalFile journalFile = readExisting(file);
+                if (journalFile != null) {
+                    valid.add(journalFile);
+                    lastGeneration = Math.max(lastGeneration, journalFile.generation);
+                }
+            }
+        }
+
+        // Le fichier le plus ancien est toujours un préfixe de l'historique du plus récent
+        valid.sort(Comparator.comparingLong(journalFile -> journalFile.generation));
+        for (JournalFile journalFile : valid) {
+            replay(journalFile.content);
+        }
+
+        // Repartir d'un fichier ne contenant que les claims non terminés
+        long nextGeneration = ++lastGeneration;
+        File target = fileFor(nextGeneration);
+        List<byte[]> snapshot = encodeEntries();
+        MappedByteBuffer fresh = createFile(target, nextGeneration, capacityFor(snapshot, 0));
+        for (byte[] record : snapshot) {
+            writeRecord(fresh, record);
+        }
+        fresh.force();
+        switchTo(fresh, target);
+        fresh.force();
+        dirty = false;
+
+        if (existing != null) {
+            for (File file : existing) {
+                if (!file.equals(target) && !file.delete() && file.exists()) {
+                    plugin.getLogger().warning("Ancien fichier du journal non supprimé: " + file.getName());
+                }
+            }
+        }
+
+        for (Entry entry : entries.values()) {
+            entry.active = false;
+        }
+    }
+
+    /**
+     * Lit un fichier existant s'il porte un en-tête valide et complet
+     */
+    private static JournalFile readExisting(File file) throws IOException {
+        if (file.length() < HEADER_SIZE) {
+            return null;
+        }
+
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (content.getInt(0) != MAGIC || content.get(4) != VERSION || content.get(5) != 1) {
+            return null;
+        }
+        return new JournalFile(content, content.getLong(8));
+    }
+
+    private static long parseGeneration(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private File fileFor(long fileGeneration) {
+        return new File(folder, "claims-" + fileGeneration + ".journal");
+    }
+
+    /**
+     * Crée le fichier d'une nouvelle génération, vide et avec un en-tête incomplet.
+     * Le fichier est neuf: il n'est jamais redimensionné une fois mappé.
+     */
+    private static MappedByteBuffer createFile(File file, long fileGeneration, int capacity) throws IOException {
+        Files.deleteIfExists(file.toPath());
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(capacity);
+            MappedByteBuffer mapped = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+            mapped.putInt(0, MAGIC);
+            mapped.put(4, VERSION);
+            mapped.put(5, (byte) 0);
+            mapped.putLong(8, fileGeneration);
+            mapped.putInt(HEADER_SIZE, 0);
+
+            mapped.position(HEADER_SIZE);
+            return mapped;
+        }
+    }
+
+    /**
+     * Taille d'un nouveau fichier: quatre fois l'instantané, au moins 1 Mo
+     */
+    private static int capacityFor(List<byte[]> snapshot, int extra) {
+        int size = HEADER_SIZE + extra;
+        for (byte[] record : snapshot) {
+            size += RECORD_OVERHEAD + record.length;
+        }
+        return Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, size * 4)) << 1);
+    }
+
+    /**
+     * Libère un mapping sans attendre le GC (sinon le fichier reste verrouillé sous Windows).
+     * Le buffer ne doit plus être utilisé par aucun thread.
+     */
+    private static void unmap(MappedByteBuffer mapped) {
+        if (UNMAPPER == null) {
+            return;
+        }
+        try {
+            UNMAPPER.invokeExact((ByteBuffer) mapped);
+        } catch (Throwable e) {
+            // Libéré par le GC
+        }
+    }
+
+    private static MethodHandle findUnmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // ==================== Enregistrements ====================
+
+    /**
+     * Ajoute un enregistrement au fichier courant, ou le met en attente du fichier suivant
+     * s'il n'y tient plus (l'ordre des enregistrements est conservé)
+     */
+    private void append(byte[] record) {
+        if (buffer == null) {
+            return;
+        }
+
+        if (!overflow.isEmpty() || buffer.capacity() - buffer.position() < RECORD_OVERHEAD + record.length + 4) {
+            overflow.add(record);
+            if (overflow.size() == 1) {
+                // Réécriture immédiate sans attendre la prochaine maintenance
+                plugin.getAsyncExecutor().run(this::maintain);
+            }
+            return;
+        }
+
+        writeRecord(buffer, record);
+        dirty = true;
+    }
+
+    /**
+     * Écrit [longueur][crc][données] suivi d'un terminateur.
+     * La longueur est écrite en dernier: un enregistrement interrompu se lit comme la fin du journal.
+     */
+    private static void writeRecord(MappedByteBuffer target, byte[] record) {
+        int position = target.position();
+
+        CRC32 crc = new CRC32();
+        crc.update(record);
+
+        target.putInt(position + 4, (int) crc.getValue());
+        target.put(position + RECORD_OVERHEAD, record);
+        target.putInt(position + RECORD_OVERHEAD + record.length, 0);
+        target.putInt(position, record.length);
+
+        target.position(position + RECORD_OVERHEAD + record.length);
+    }
+
+    /**
+     * Rejoue les enregistrements valides d'un fichier
+     */
+    private void replay(ByteBuffer source) {
+        int position = HEADER_SIZE;
+        int limit = source.capacity();
+
+        while (position + RECORD_OVERHEAD <= limit) {
+            int length = source.getInt(position);
+            if (length <= 0 || position + RECORD_OVERHEAD + length > limit) {
+                break;
+            }
+
+            byte[] record = new byte[length];
+            source.get(position + RECORD_OVERHEAD, record);
+
+            CRC32 crc = new CRC32();
+            crc.update(record);
+            if ((int) crc.getValue() != source.getInt(position + 4)) {
+                plugin.getLogger().warning("Journal des claims: enregistrement corrompu ignoré (fin du journal)");
+                break;
+            }
+
+            try {
+                apply(record);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Journal des claims: enregistrement illisible ignoré");
+                break;
+            }
+
+            position += RECORD_OVERHEAD + length;
+        }
+    }
+
+    /**
+     * Applique un enregistrement à l'état en mémoire
+     */
+    private void apply(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte type = in.readByte();
+        String voteId = in.readUTF();
+        Entry entry = entries.get(voteId);
+
+        switch (type) {
+            case REQUESTED:
+                String playerUuid = in.readUTF();
+                String playerName = in.readUTF();
+                long requestedAt = in.readLong();
+                if (entry == null) {
+                    entry = new Entry(voteId, requestedAt);
+                    entries.put(voteId, entry);
+                }
+                entry.playerUuid = playerUuid;
+                entry.playerName = playerName;
+                break;
+
+            case ACKNOWLEDGED:
+                int count = in.readInt();
+                String[] commands = new String[count];
+                for (int i = 0; i < count; i++) {
+                    commands[i] = in.readUTF();
+                }
+                if (entry != null) {
+                    entry.commands = commands;
+                    entry.executed = 0;
+                }
+                break;
+
+            case PROGRESS:
+                int executed = in.readInt();
+                if (entry != null) {
+                    entry.executed = Math.max(entry.executed, executed);
+                }
+                break;
+
+            case COMPLETED:
+            case FAILED:
+            case EXPIRED:
+                entries.remove(voteId);
+                break;
+
+            default:
+                throw new IOException("Type d'enregistrement inconnu: " + type);
+        }
+    }
+
+    /**
+     * Encode l'état des claims non terminés sous forme d'enregistrements
+     */
+    private List<byte[]> encodeEntries() {
+        List<byte[]> records = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            records.add(encode(REQUESTED, entry.voteId, entry.playerUuid, entry.playerName, entry.requestedAt));
+            if (entry.commands != null) {
+                records.add(encode(ACKNOWLEDGED, entry.voteId, (Object) entry.commands));
+                if (entry.executed > 0) {
+                    records.add(encode(PROGRESS, entry.voteId, entry.executed));
+                }
+            }
+        }
+        return records;
+    }
+
+    private static byte[] encode(byte type, String voteId, Object... fields) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(type);
+            out.writeUTF(voteId);
+
+            for (Object field : fields) {
+                if (field instanceof String value) {
+                    out.writeUTF(value);
+                } else if (field instanceof Integer value) {
+                    out.writeInt(value);
+                } else if (field instanceof Long value) {
+                    out.writeLong(value);
+                } else if (field instanceof String[] values) {
+                    out.writeInt(values.length);
+                    for (String value : values) {
+                        out.writeUTF(value != null ? value : "");
+                    }
+                }
+            }
+
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // Impossible avec un ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String normalizeUuid(String uuid) {
+        return uuid.replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Claim non terminé
+     */
+    public static final class Entry {
+        private final String voteId;
+        private final long requestedAt;
+        private String playerUuid = "";
+        private String playerName = "";
+        private String[] commands;
+        private int executed;
+        private boolean active;
+
+        private Entry(String voteId, long requestedAt) {
+            this.voteId = voteId;
+            this.requestedAt = requestedAt;
+        }
+
+        private Entry copy() {
+            Entry copy = new Entry(voteId, requestedAt);
+            copy.playerUuid = playerUuid;
+            copy.playerName = playerName;
+            copy.commands = commands;
+            copy.executed = executed;
+            copy.active = active;
+            return copy;
+        }
+
+        public String getVoteId() { return voteId; }
+        public String getPlayerUuid() { return playerUuid; }
+        public String getPlayerName() { return playerName; }
+
+        /**
+         * Date du premier envoi du claim (millisecondes epoch)
+         */
+        public long getRequestedAt() { return requestedAt; }
+
+        /**
+         * Commandes reçues du backend, null si le claim n'a pas été acquitté
+         */
+        public String[] getCommands() { return commands; }
+
+        /**
+         * Nombre de commandes déjà exécutées
+         */
+        public int getExecuted() { return executed; }
+
+        public boolean isAcknowledged() { return commands != null; }
+    }
+
+    /**
+     * Ancien mapping en attente de libération
+     */
+    private static final class Mapping {
+        private final MappedByteBuffer buffer;
+        private final File file;
+
+        private Mapping(MappedByteBuffer buffer, File file) {
+            this.buffer = buffer;
+            this.file = file;
+        }
+    }
+
+    /**
+     * Contenu d'un fichier du journal lu au démarrage
+     */
+    private static final class JournalFile {
+        private final ByteBuffer content;
+        private final long generation;
+
+        private JournalFile(ByteBuffer content, long generation) {
+            this.content = content;
+            this.generation = generation;
+        }
+    }
+}
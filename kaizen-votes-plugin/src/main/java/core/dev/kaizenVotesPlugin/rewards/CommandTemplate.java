@@ -0,0 +1,202 @@
+package core.dev.kaizenVotesPlugin.rewards;
+
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Commande de récompense compilée en segments littéraux et placeholders.
+ * Les templates sont mis en cache par texte de commande (LRU borné), une commande
+ * n'est donc analysée qu'une fois quel que soit le nombre de votes qui l'utilisent.
+ *
+ * Placeholders supportés: {player}, {uuid}, {service}, {vote_id}, {streak}, {timestamp}
+ */
+public final class CommandTemplate {
+
+    // Nombre maximum de commandes compilées gardées en cache
+    private static final int CACHE_SIZE = 256;
+
+    private static final Map<String, CommandTemplate> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CommandTemplate> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final String[] literals;
+    private final Placeholder[] placeholders;
+    private final int literalLength;
+
+    private CommandTemplate(String[] literals, Placeholder[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Template compilé d'une commande, depuis le cache si possible
+     */
+    public static CommandTemplate of(String command) {
+        synchronized (CACHE) {
+            CommandTemplate template = CACHE.get(command);
+            if (template == null) {
+                template = compile(command);
+                CACHE.put(command, template);
+            }
+            return template;
+        }
+    }
+
+    /**
+     * Remplace les placeholders de toutes les commandes d'un claim
+     */
+    public static String[] renderAll(String[] commands, Context context) {
+        String[] rendered = new String[commands.length];
+        for (int i = 0; i < commands.length; i++) {
+            rendered[i] = commands[i] != null ? of(commands[i]).render(context) : null;
+        }
+        return rendered;
+    }
+
+    /**
+     * Construit la commande avec les valeurs du contexte
+     */
+    public String render(Context context) {
+        if (placeholders.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder builder = new StringBuilder(literalLength + placeholders.length * 16);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]).append(context.value(placeholders[i]));
+        }
+        return builder.append(literals[placeholders.length]).toString();
+    }
+
+    private static CommandTemplate compile(String command) {
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> placeholders = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int start = 0;
+        while (start < command.length()) {
+            int open = command.indexOf('{', start);
+            int close = open >= 0 ? command.indexOf('}', open + 1) : -1;
+            if (open < 0 || close < 0) {
+                break;
+            }
+
+            Placeholder placeholder = Placeholder.byName(command.substring(open + 1, close));
+            if (placeholder == null) {
+                // Accolade sans placeholder connu, gardée telle quelle
+                literal.append(command, start, open + 1);
+                start = open + 1;
+                continue;
+            }
+
+            literal.append(command, start, open);
+            literals.add(literal.toString());
+            literal.setLength(0);
+            placeholders.add(placeholder);
+            start = close + 1;
+        }
+        literal.append(command, start, command.length());
+        literals.add(literal.toString());
+
+        return new CommandTemplate(literals.toArray(new String[0]), placeholders.toArray(new Placeholder[0]));
+    }
+
+    private enum Placeholder {
+        PLAYER("player"),
+        UUID("uuid"),
+        SERVICE("service"),
+        VOTE_ID("vote_id"),
+        STREAK("streak"),
+        TIMESTAMP("timestamp");
+
+        private final String name;
+
+        Placeholder(String name) {
+            this.name = name;
+        }
+
+        static Placeholder byName(String name) {
+            for (Placeholder placeholder : values()) {
+                if (placeholder.name.equals(name)) {
+                    return placeholder;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Valeurs des placeholders, résolues une fois par claim
+     */
+    public static final class Context {
+        private final String player;
+        private final String uuid;
+        private final String service;
+        private final String voteId;
+        private final String streak;
+        private final String timestamp;
+
+        private Context(String player, String uuid, String service, String voteId, String streak, String timestamp) {
+            this.player = player;
+            this.uuid = uuid;
+            this.service = service;
+            this.voteId = voteId;
+            this.streak = streak;
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * @param vote Le vote réclamé (service et date peuvent être absents, ex: reprise du journal)
+         * @param streak Série de votes renvoyée par le backend (0 si inconnue)
+         */
+        public static Context of(Player player, VoteEvent vote, int streak) {
+            return of(player.getName(), player.getUniqueId().toString(), vote, streak);
+        }
+
+        /**
+         * Contexte à partir du pseudo et de l'UUID déjà résolus
+         */
+        public static Context of(String playerName, String playerUuid, VoteEvent vote, int streak) {
+            return new Context(
+                    playerName,
+                    playerUuid,
+                    vote.getServiceName() != null ? vote.getServiceName() : "",
+                    vote.getId() != null ? vote.getId() : "",
+                    String.valueOf(streak),
+                    String.valueOf(vote.getTimestamp() > 0 ? vote.getTimestamp() : System.currentTimeMillis())
+            );
+        }
+
+        /**
+         * Contexte sans vote (récompense directe): service et vote_id vides, série à 0
+         */
+        public static Context of(Player player) {
+            return new Context(player.getName(), player.getUniqueId().toString(), "", "", "0",
+                    String.valueOf(System.currentTimeMillis()));
+        }
+
+        private String value(Placeholder placeholder) {
+            return switch (placeholder) {
+                case PLAYER -> player;
+                case UUID -> uuid;
+                case SERVICE -> service;
+                case VOTE_ID -> voteId;
+                case STREAK -> streak;
+                case TIMESTAMP -> timestamp;
+            };
+        }
+    }
+}
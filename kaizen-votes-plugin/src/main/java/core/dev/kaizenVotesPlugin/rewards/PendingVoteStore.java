@@ -0,0 +1,254 @@
+package core.dev.kaizenVotesPlugin.rewards;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import core.dev.kaizenVotesPlugin.utils.AsyncExecutor;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Cache local des votes en attente, indexé par UUID et par pseudo (en minuscules).
+ * Alimenté par un rafraîchissement périodique partagé et par les votes reçus en temps réel,
+ * il permet de répondre aux connexions et à /rewards sans appel HTTP.
+ */
+public class PendingVoteStore {
+
+    private final KaizenVotesPlugin plugin;
+    private final ConfigManager config;
+
+    private volatile Index index = new Index();
+    private volatile boolean loaded = false;
+
+    private CompletableFuture<Boolean> inFlightRefresh;
+    // Ajouts et retraits faits pendant le rafraîchissement en vol, rejoués sur le nouvel index
+    private List<Consumer<Index>> changesDuringRefresh;
+    private AsyncExecutor.Task refreshTask;
+
+    public PendingVoteStore(KaizenVotesPlugin plugin) {
+        this.plugin = plugin;
+        this.config = plugin.getConfigManager();
+    }
+
+    /**
+     * Démarre le rafraîchissement périodique du cache
+     */
+    public void start() {
+        stop();
+
+        long intervalTicks = Math.max(1, config.getPendingVotesRefreshInterval()) * 20L;
+        refreshTask = plugin.getAsyncExecutor().runTimer(
+                this::refresh,
+                20L, // Délai initial d'une seconde
+                intervalTicks
+        );
+    }
+
+    /**
+     * Arrête le rafraîchissement périodique
+     */
+    public void stop() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+    }
+
+    /**
+     * Recharge la liste complète des votes en attente depuis le backend.
+     * Un seul rafraîchissement est en vol à la fois, les appels concurrents partagent le même résultat.
+     * @return true si le cache a été rechargé
+     */
+    public synchronized CompletableFuture<Boolean> refresh() {
+        if (inFlightRefresh != null && !inFlightRefresh.isDone()) {
+            return inFlightRefresh;
+        }
+
+        // Les votes sont indexés au fil de la lecture, l'index n'est publié qu'une fois complet
+        Index fresh = new Index();
+        List<Consumer<Index>> changes = new ArrayList<>();
+        changesDuringRefresh = changes;
+        inFlightRefresh = plugin.getApiClient().streamAllPendingVotes(fresh::add).thenApply(response -> {
+            if (!response.isSuccess()) {
+                plugin.getLogger().warning("Erreur rafraîchissement votes en attente: " + response.getError());
+                endRefresh(changes);
+                return false;
+            }
+
+            return publish(fresh, changes);
+        }).exceptionally(ex -> {
+            plugin.getLogger().warning("Erreur rafraîchissement votes en attente: " + ex.getMessage());
+            endRefresh(changes);
+            return false;
+        });
+
+        return inFlightRefresh;
+    }
+
+    /**
+     * Publie l'index rechargé, après y avoir rejoué les ajouts et retraits faits pendant
+     * sa lecture (sinon un vote réclamé réapparaîtrait et un vote reçu disparaîtrait)
+     * @return false si le cache a été vidé entre-temps (index abandonné)
+     */
+    private synchronized boolean publish(Index fresh, List<Consumer<Index>> changes) {
+        if (changesDuringRefresh != changes) {
+            return false;
+        }
+        changes.forEach(change -> change.accept(fresh));
+        changesDuringRefresh = null;
+        index = fresh;
+        loaded = true;
+        return true;
+    }
+
+    private synchronized void endRefresh(List<Consumer<Index>> changes) {
+        if (changesDuringRefresh == changes) {
+            changesDuringRefresh = null;
+        }
+    }
+
+    /**
+     * Ajoute un vote en attente (WebSocket ou polling)
+     */
+    public synchronized void add(VoteEvent vote) {
+        index.add(vote);
+        if (changesDuringRefresh != null) {
+            changesDuringRefresh.add(fresh -> fresh.add(vote));
+        }
+    }
+
+    /**
+     * Retire un vote du cache (réclamé ou expiré)
+     */
+    public synchronized void remove(String voteId) {
+        index.remove(voteId);
+        if (changesDuringRefresh != null) {
+            changesDuringRefresh.add(fresh -> fresh.remove(voteId));
+        }
+    }
+
+    /**
+     * Vide le cache (ex: après /kaizen unlink)
+     */
+    public synchronized void clear() {
+        index = new Index();
+        loaded = false;
+        // Le rafraîchissement en vol ne sera pas publié
+        changesDuringRefresh = null;
+    }
+
+    /**
+     * Votes en attente d'un joueur, du plus ancien au plus récent
+     */
+    public List<VoteEvent> getPendingVotes(Player player) {
+        return getPendingVotes(player.getUniqueId(), player.getName());
+    }
+
+    /**
+     * Votes en attente correspondant à l'UUID ou au pseudo, du plus ancien au plus récent
+     */
+    public List<VoteEvent> getPendingVotes(UUID playerUuid, String playerName) {
+        Index current = index;
+
+        Map<String, VoteEvent> byUuid = playerUuid != null
+                ? current.byUuid.get(normalizeUuid(playerUuid.toString()))
+                : null;
+        Map<String, VoteEvent> byName = playerName != null
+                ? current.byName.get(playerName.toLowerCase(Locale.ROOT))
+                : null;
+
+        if (byUuid == null && byName == null) {
+            return Collections.emptyList();
+        }
+
+        // Un même vote peut être indexé par UUID et par pseudo
+        Map<String, VoteEvent> merged = new LinkedHashMap<>();
+        if (byUuid != null) {
+            merged.putAll(byUuid);
+        }
+        if (byName != null) {
+            merged.putAll(byName);
+        }
+
+        List<VoteEvent> votes = new ArrayList<>(merged.values());
+        votes.sort(Comparator.comparingLong(VoteEvent::getTimestamp));
+        return votes;
+    }
+
+    /**
+     * Indique si le cache a été chargé au moins une fois
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Nombre total de votes en attente dans le cache
+     */
+    public int size() {
+        return index.byId.size();
+    }
+
+    private static String normalizeUuid(String uuid) {
+        return uuid.replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Index des votes par identifiant, UUID et pseudo
+     */
+    private static final class Index {
+        final Map<String, VoteEvent> byId = new ConcurrentHashMap<>();
+        final Map<String, Map<String, VoteEvent>> byUuid = new ConcurrentHashMap<>();
+        final Map<String, Map<String, VoteEvent>> byName = new ConcurrentHashMap<>();
+
+        void add(VoteEvent vote) {
+            if (vote == null || vote.getId() == null || vote.isClaimed()) {
+                return;
+            }
+
+            remove(vote.getId());
+            byId.put(vote.getId(), vote);
+
+            if (vote.getPlayerUuid() != null && !vote.getPlayerUuid().isEmpty()) {
+                byUuid.computeIfAbsent(normalizeUuid(vote.getPlayerUuid()), k -> new ConcurrentHashMap<>())
+                        .put(vote.getId(), vote);
+            }
+            if (vote.getPlayerName() != null && !vote.getPlayerName().isEmpty()) {
+                byName.computeIfAbsent(vote.getPlayerName().toLowerCase(Locale.ROOT), k -> new ConcurrentHashMap<>())
+                        .put(vote.getId(), vote);
+            }
+        }
+
+        void remove(String voteId) {
+            VoteEvent vote = byId.remove(voteId);
+            if (vote == null) {
+                return;
+            }
+
+            if (vote.getPlayerUuid() != null && !vote.getPlayerUuid().isEmpty()) {
+                removeFrom(byUuid, normalizeUuid(vote.getPlayerUuid()), voteId);
+            }
+            if (vote.getPlayerName() != null && !vote.getPlayerName().isEmpty()) {
+                removeFrom(byName, vote.getPlayerName().toLowerCase(Locale.ROOT), voteId);
+            }
+        }
+
+        private static void removeFrom(Map<String, Map<String, VoteEvent>> map, String key, String voteId) {
+            map.computeIfPresent(key, (k, votes) -> {
+                votes.remove(voteId);
+                return votes.isEmpty() ? null : votes;
+            });
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package core.dev.kaizenVotesPlugin.rewards;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Exécuteur des commandes de récompense sur le thread principal.
+ * Les commandes sont vidées dans l'ordre d'arrivée (FIFO, donc aussi par joueur)
+ * sous un budget de temps par tick; le reste est reporté aux ticks suivants.
+ */
+public class RewardCommandExecutor {
+
+    private final KaizenVotesPlugin plugin;
+    private final ConfigManager config;
+    private final BiConsumer<Player, String> dispatcher;
+    private final ClaimJournal journal;
+
+    // Un job par vote réclamé, ses commandes sont exécutées dans l'ordre
+    private final Queue<CommandJob> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCommands = new AtomicInteger();
+
+    private final AtomicLong totalExecuted = new AtomicLong();
+    private volatile long lastTickNanos = 0;
+    private volatile int lastTickCommands = 0;
+
+    private BukkitTask drainTask;
+
+    public RewardCommandExecutor(KaizenVotesPlugin plugin, BiConsumer<Player, String> dispatcher, ClaimJournal journal) {
+        this.plugin = plugin;
+        this.config = plugin.getConfigManager();
+        this.dispatcher = dispatcher;
+        this.journal = journal;
+    }
+
+    /**
+     * Démarre la tâche de vidage (une fois par tick)
+     */
+    public void start() {
+        if (drainTask != null) {
+            return;
+        }
+        drainTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+    }
+
+    /**
+     * Arrête la tâche et exécute immédiatement les commandes restantes
+     */
+    public void stop() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        drain(Long.MAX_VALUE);
+    }
+
+    /**
+     * Ajoute les commandes d'un vote réclamé à la file (appelable depuis n'importe quel thread)
+     */
+    public void submit(Player player, String voteId, String[] commands) {
+        submit(player, voteId, commands, 0);
+    }
+
+    /**
+     * Reprend les commandes d'un vote à partir de la commande startIndex (reprise du journal)
+     */
+    public void submit(Player player, String voteId, String[] commands, int startIndex) {
+        if (commands == null || startIndex >= commands.length) {
+            journal.completed(voteId);
+            return;
+        }
+        queuedCommands.addAndGet(commands.length - startIndex);
+        queue.add(new CommandJob(player, voteId, commands, startIndex));
+    }
+
+    private void drain() {
+        drain(config.getCommandTickBudgetNanos());
+    }
+
+    /**
+     * Exécute les commandes en file tant que le budget du tick n'est pas épuisé.
+     * Au moins une commande est exécutée par tick pour garantir la progression.
+     */
+    private void drain(long budgetNanos) {
+        if (queue.isEmpty()) {
+            lastTickNanos = 0;
+            lastTickCommands = 0;
+            return;
+        }
+
+        long start = System.nanoTime();
+        int executed = 0;
+
+        CommandJob job;
+        while ((job = queue.peek()) != null) {
+            if (executed > 0 && System.nanoTime() - start >= budgetNanos) {
+                break;
+            }
+
+            if (!job.player.isOnline()) {
+                plugin.getLogger().warning("Joueur " + job.player.getName() + " déconnecté avant exécution des commandes du vote " + job.voteId);
+                discard(job);
+                continue;
+            }
+
+            long commandStart = System.nanoTime();
+            dispatcher.accept(job.player, job.commands[job.next++]);
+            plugin.getVoteMetrics().getCommandDuration().record(System.nanoTime() - commandStart);
+            journal.progress(job.voteId, job.next);
+            queuedCommands.decrementAndGet();
+            executed++;
+
+            if (job.next >= job.commands.length) {
+                queue.poll();
+                journal.completed(job.voteId);
+                plugin.getLogger().info("Vote " + job.voteId + " réclamé: " + job.commands.length + " commande(s) exécutée(s)");
+            }
+        }
+
+        totalExecuted.addAndGet(executed);
+        lastTickCommands = executed;
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    private void discard(CommandJob job) {
+        queue.poll();
+        queuedCommands.addAndGet(-(job.commands.length - job.next));
+        // Reste dans le journal, sera repris à la prochaine connexion du joueur
+        journal.release(job.voteId);
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * Nombre de commandes en attente d'exécution
+     */
+    public int getQueueDepth() {
+        return queuedCommands.get();
+    }
+
+    /**
+     * Temps passé à exécuter des commandes lors du dernier tick (en nanosecondes)
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * Nombre de commandes exécutées lors du dernier tick
+     */
+    public int getLastTickCommands() {
+        return lastTickCommands;
+    }
+
+    /**
+     * Nombre total de commandes exécutées depuis le démarrage
+     */
+    public long getTotalExecuted() {
+        return totalExecuted.get();
+    }
+
+    /**
+     * Commandes d'un vote réclamé
+     */
+    private static final class CommandJob {
+        final Player player;
+        final String voteId;
+        final String[] commands;
+        int next;
+
+        CommandJob(Player player, String voteId, String[] commands, int startIndex) {
+            this.player = player;
+            this.voteId = voteId;
+            this.commands = commands;
+            this.next = startIndex;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package core.dev.kaizenVotesPlugin.rewards;
 
 import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.models.BatchClaimResponse;
 import core.dev.kaizenVotesPlugin.api.models.ClaimResponse;
 import core.dev.kaizenVotesPlugin.api.models.PlayerReward;
 import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
 import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import core.dev.kaizenVotesPlugin.utils.RecentVoteFilter;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Bukkit;
@@ -12,7 +14,10 @@ import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,15 +27,100 @@ public class RewardManager {
 
     private final KaizenVotesPlugin plugin;
     private final ConfigManager config;
+    private final ClaimJournal journal;
+    private final RewardCommandExecutor commandExecutor;
+
+    // Votes déjà envoyés au claim, pour ne jamais réclamer deux fois le même vote
+    private final RecentVoteFilter claimFilter;
+
+    // Claims en attente d'envoi, regroupés par tick (voteId -> claim)
+    private final Map<String, QueuedClaim> queuedClaims = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+    // Support du claim groupé par le backend: décidé sur la première réponse, puis figé
+    private volatile BatchSupport batchSupport = BatchSupport.UNKNOWN;
+
+    // Taille maximale d'un lot accepté par le backend
+    private static final int MAX_BATCH_SIZE = 100;
+
+    // Ids retenus par génération du filtre des claims
+    private static final int CLAIM_FILTER_CAPACITY = 8192;
 
     public RewardManager(KaizenVotesPlugin plugin) {
         this.plugin = plugin;
         this.config = plugin.getConfigManager();
+        this.journal = new ClaimJournal(plugin);
+        this.journal.start();
+        this.commandExecutor = new RewardCommandExecutor(plugin, this::executeCommand, journal);
+        this.commandExecutor.start();
+        this.claimFilter = new RecentVoteFilter(config.getVoteDedupWindow() * 1000L, CLAIM_FILTER_CAPACITY);
+    }
+
+    /**
+     * Arrête l'exécuteur de commandes en exécutant les commandes restantes, puis synchronise le journal
+     */
+    public void shutdown() {
+        commandExecutor.stop();
+        journal.stop();
+    }
+
+    public RewardCommandExecutor getCommandExecutor() {
+        return commandExecutor;
+    }
+
+    public ClaimJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Reprend les claims non terminés des joueurs déjà connectés (démarrage, reload, liaison du serveur)
+     */
+    public void recoverOnlinePlayers() {
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            recoverClaims(player);
+        }
+    }
+
+    /**
+     * Reprend les claims non terminés d'un joueur (crash, déconnexion avant exécution)
+     * Les claims acquittés reprennent leurs commandes là où elles s'étaient arrêtées,
+     * les autres sont renvoyés au backend.
+     */
+    public void recoverClaims(Player player) {
+        List<ClaimJournal.Entry> recoverable = journal.takeRecoverable(player.getUniqueId().toString(), player.getName());
+
+        for (ClaimJournal.Entry entry : recoverable) {
+            if (entry.isAcknowledged()) {
+                plugin.getLogger().info("Reprise du vote " + entry.getVoteId() + " pour " + player.getName()
+                        + " (" + entry.getExecuted() + "/" + entry.getCommands().length + " commande(s) déjà exécutée(s))");
+                commandExecutor.submit(player, entry.getVoteId(), entry.getCommands(), entry.getExecuted());
+            } else {
+                VoteEvent vote = new VoteEvent();
+                vote.setId(entry.getVoteId());
+                vote.setPlayerUuid(entry.getPlayerUuid());
+                vote.setPlayerName(entry.getPlayerName());
+                claimRewards(player, vote);
+            }
+        }
+    }
+
+    /**
+     * Réclame les votes en attente d'un joueur qui se connecte: reçus pendant son absence,
+     * ils ne sont revus ni par le WebSocket ni par le polling incrémental
+     * @return nombre de claims initiés
+     */
+    public int claimPendingVotes(Player player) {
+        int initiated = 0;
+        for (VoteEvent vote : plugin.getPendingVoteStore().getPendingVotes(player)) {
+            if (claimRewards(player, vote)) {
+                initiated++;
+            }
+        }
+        return initiated;
     }
 
     /**
      * Réclame les récompenses d'un vote pour un joueur
-     * Appelle l'API claim et exécute les commandes retournées
+     * Le claim est regroupé avec les autres claims du tick et envoyé en une seule requête
      * @param player Le joueur
      * @param vote L'événement de vote
      * @return true si le claim a été initié (async)
@@ -40,65 +130,266 @@ public class RewardManager {
             return false;
         }
 
+        // Déjà réclamé ou en cours de claim (WebSocket, polling et /rewards)
+        if (!claimFilter.firstSeen(vote.getId())) {
+            plugin.getVoteMetrics().duplicateVoteDropped();
+            return false;
+        }
+
+        synchronized (queuedClaims) {
+            queuedClaims.putIfAbsent(vote.getId(), new QueuedClaim(player, vote));
+
+            // Un seul envoi par tick pour tous les claims accumulés
+            if (!flushScheduled) {
+                flushScheduled = true;
+                plugin.getServer().getScheduler().runTask(plugin, this::flushQueuedClaims);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Envoie les claims accumulés pendant le tick
+     */
+    private void flushQueuedClaims() {
+        List<QueuedClaim> claims;
+        synchronized (queuedClaims) {
+            claims = new ArrayList<>(queuedClaims.values());
+            queuedClaims.clear();
+            flushScheduled = false;
+        }
+
+        if (claims.isEmpty()) {
+            return;
+        }
+
+        // Tracer chaque demande avant l'envoi
+        for (QueuedClaim claim : claims) {
+            journal.requested(claim.vote.getId(), claim.player.getUniqueId().toString(), claim.player.getName());
+        }
+
+        if (batchSupport == BatchSupport.UNSUPPORTED) {
+            for (QueuedClaim claim : claims) {
+                claimSingle(claim.player, claim.vote);
+            }
+            return;
+        }
+
+        for (int i = 0; i < claims.size(); i += MAX_BATCH_SIZE) {
+            claimBatch(claims.subList(i, Math.min(claims.size(), i + MAX_BATCH_SIZE)));
+        }
+    }
+
+    /**
+     * Réclame un lot de votes en une requête puis exécute toutes les commandes en une tâche
+     */
+    private void claimBatch(List<QueuedClaim> claims) {
+        Map<String, QueuedClaim> claimsByVoteId = new LinkedHashMap<>();
+        for (QueuedClaim claim : claims) {
+            claimsByVoteId.put(claim.vote.getId(), claim);
+        }
+
+        plugin.getApiClient().claimVotes(new ArrayList<>(claimsByVoteId.keySet())).thenAccept(response -> {
+            if (!response.isSuccess()) {
+                if (isBatchUnsupported(response.getStatusCode())) {
+                    // Backend sans claim groupé: repli définitif sur un claim par vote
+                    plugin.getLogger().info("Claim groupé non supporté par le backend, repli sur le claim unitaire");
+                    for (QueuedClaim claim : claimsByVoteId.values()) {
+                        claimSingle(claim.player, claim.vote);
+                    }
+                    return;
+                }
+
+                plugin.getLogger().warning("Erreur claim groupé (" + claimsByVoteId.size() + " votes): " + response.getError());
+                releaseAll(claimsByVoteId.keySet());
+                return;
+            }
+
+            batchSupport = BatchSupport.SUPPORTED;
+            BatchClaimResponse batchResponse = response.getData();
+            if (batchResponse == null || !batchResponse.isSuccess()
+                    || batchResponse.getData() == null || batchResponse.getData().getResults() == null) {
+                plugin.getLogger().warning("Claim groupé de " + claimsByVoteId.size() + " votes non réussi");
+                releaseAll(claimsByVoteId.keySet());
+                return;
+            }
+
+            // Commandes à exécuter, regroupées par joueur
+            Map<Player, List<ClaimedVote>> claimedByPlayer = new LinkedHashMap<>();
+            Map<String, QueuedClaim> unanswered = new LinkedHashMap<>(claimsByVoteId);
+
+            for (BatchClaimResponse.ClaimResult result : batchResponse.getData().getResults()) {
+                QueuedClaim claim = unanswered.remove(result.getVoteId());
+                if (claim == null) {
+                    continue;
+                }
+
+                // Réclamé ou introuvable: dans les deux cas le vote n'est plus en attente
+                plugin.getPendingVoteStore().remove(result.getVoteId());
+
+                if (!result.isSuccess()) {
+                    plugin.getLogger().warning("Claim vote " + result.getVoteId() + " non réussi: " + result.getMessage());
+                    plugin.getVoteMetrics().claimFailed();
+                    journal.failed(result.getVoteId());
+                    continue;
+                }
+
+                plugin.getVoteMetrics().claimSucceeded();
+
+                // Placeholders résolus une fois pour tout le claim, hors du thread principal
+                String[] commands = renderCommands(claim.player, claim.vote, result.getCommands(), result.getStreak());
+                journal.acknowledged(result.getVoteId(), commands);
+
+                claimedByPlayer.computeIfAbsent(claim.player, p -> new ArrayList<>())
+                        .add(new ClaimedVote(result.getVoteId(), commands));
+            }
+
+            // Votes absents de la réponse: non traités par le backend, ils seront retentés
+            if (!unanswered.isEmpty()) {
+                plugin.getLogger().warning(unanswered.size() + " vote(s) sans résultat dans le claim groupé");
+                releaseAll(unanswered.keySet());
+            }
+
+            // Confier toutes les commandes du lot à l'exécuteur du thread principal
+            submitClaimedVotes(claimedByPlayer);
+
+        }).exceptionally(ex -> {
+            plugin.getLogger().warning("Erreur claim groupé (" + claimsByVoteId.size() + " votes): " + ex.getMessage());
+            releaseAll(claimsByVoteId.keySet());
+            return null;
+        });
+    }
+
+    /**
+     * Vrai si la réponse signale l'absence de l'endpoint groupé. Seule la première réponse
+     * en décide: une fois le claim groupé utilisé avec succès, un 404 est une vraie erreur.
+     */
+    private synchronized boolean isBatchUnsupported(int statusCode) {
+        if (batchSupport == BatchSupport.UNSUPPORTED) {
+            return true;
+        }
+        if (batchSupport == BatchSupport.SUPPORTED) {
+            return false;
+        }
+        batchSupport = statusCode == 404 || statusCode == 405 ? BatchSupport.UNSUPPORTED : BatchSupport.UNKNOWN;
+        return batchSupport == BatchSupport.UNSUPPORTED;
+    }
+
+    /**
+     * Libère les votes d'un lot non abouti pour qu'ils soient retentés
+     */
+    private void releaseAll(Iterable<String> voteIds) {
+        for (String voteId : voteIds) {
+            plugin.getVoteMetrics().claimErrored();
+            release(voteId);
+        }
+    }
+
+    /**
+     * Claim non abouti: le vote pourra être réclamé de nouveau
+     */
+    private void release(String voteId) {
+        journal.release(voteId);
+        claimFilter.forget(voteId);
+    }
+
+    /**
+     * Met en file les commandes des votes réclamés, joueur par joueur
+     */
+    private void submitClaimedVotes(Map<Player, List<ClaimedVote>> claimedByPlayer) {
+        for (Map.Entry<Player, List<ClaimedVote>> entry : claimedByPlayer.entrySet()) {
+            Player player = entry.getKey();
+
+            for (ClaimedVote claimed : entry.getValue()) {
+                if (claimed.commands == null || claimed.commands.length == 0) {
+                    plugin.getLogger().info("Vote " + claimed.voteId + " réclamé (pas de commandes)");
+                    journal.completed(claimed.voteId);
+                    continue;
+                }
+
+                commandExecutor.submit(player, claimed.voteId, claimed.commands);
+            }
+        }
+    }
+
+    /**
+     * Réclame un vote seul (backend sans claim groupé)
+     * Appelle l'API claim et exécute les commandes retournées
+     */
+    private void claimSingle(Player player, VoteEvent vote) {
         // Appeler l'API claim qui retourne les commandes à exécuter
         plugin.getApiClient().claimVote(vote.getId()).thenAccept(response -> {
             if (!response.isSuccess()) {
                 plugin.getLogger().warning("Erreur claim vote " + vote.getId() + ": " + response.getError());
+                if (response.getStatusCode() == 404 || response.getStatusCode() == 409) {
+                    // Introuvable ou déjà réclamé: rien à livrer
+                    plugin.getVoteMetrics().claimFailed();
+                    journal.failed(vote.getId());
+                } else {
+                    plugin.getVoteMetrics().claimErrored();
+                    release(vote.getId());
+                }
                 return;
             }
 
             ClaimResponse claimResponse = response.getData();
             if (claimResponse == null || !claimResponse.isSuccess()) {
                 plugin.getLogger().warning("Claim vote " + vote.getId() + " non réussi");
+                plugin.getVoteMetrics().claimFailed();
+                journal.failed(vote.getId());
                 return;
             }
 
+            plugin.getVoteMetrics().claimSucceeded();
+
+            plugin.getPendingVoteStore().remove(vote.getId());
+
             ClaimResponse.ClaimData data = claimResponse.getData();
             if (data == null) {
                 plugin.getLogger().warning("Claim vote " + vote.getId() + " sans data");
+                journal.failed(vote.getId());
                 return;
             }
 
             String[] commands = data.getCommands();
             if (commands == null || commands.length == 0) {
                 plugin.getLogger().info("Vote " + vote.getId() + " réclamé (pas de commandes)");
+                journal.completed(vote.getId());
                 return;
             }
 
-            // Exécuter les commandes sur le thread principal
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
-                if (!player.isOnline()) {
-                    plugin.getLogger().warning("Joueur " + player.getName() + " déconnecté avant exécution des commandes");
-                    return;
-                }
-
-                for (String command : commands) {
-                    executeCommand(player, command);
-                }
-
-                plugin.getLogger().info("Vote " + vote.getId() + " réclamé: " + commands.length + " commande(s) exécutée(s)");
-            });
+            // Exécuter les commandes sur le thread principal, sous budget par tick
+            commands = renderCommands(player, vote, commands, data.getStreak());
+            journal.acknowledged(vote.getId(), commands);
+            commandExecutor.submit(player, vote.getId(), commands);
 
         }).exceptionally(ex -> {
             plugin.getLogger().warning("Erreur claim vote " + vote.getId() + ": " + ex.getMessage());
+            plugin.getVoteMetrics().claimErrored();
+            release(vote.getId());
             return null;
         });
+    }
 
-        return true;
+    /**
+     * Remplace les placeholders des commandes d'un claim (valeurs du joueur et du vote résolues une fois)
+     */
+    private String[] renderCommands(Player player, VoteEvent vote, String[] commands, int streak) {
+        if (commands == null || commands.length == 0) {
+            return new String[0];
+        }
+        return CommandTemplate.renderAll(commands, CommandTemplate.Context.of(player, vote, streak));
     }
 
     /**
-     * Exécute une commande avec les placeholders remplacés
+     * Exécute une commande dont les placeholders ont déjà été remplacés
      */
     private void executeCommand(Player player, String command) {
         if (command == null || command.isEmpty()) {
             return;
         }
 
-        // Remplacer les placeholders
-        command = command.replace("{player}", player.getName())
-                        .replace("{uuid}", player.getUniqueId().toString());
-
         try {
             plugin.getLogger().info("Exécution commande: " + command);
             Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
@@ -141,8 +432,7 @@ public class RewardManager {
         }
 
         // Remplacer les placeholders
-        command = command.replace("{player}", player.getName())
-                        .replace("{uuid}", player.getUniqueId().toString());
+        command = CommandTemplate.of(command).render(CommandTemplate.Context.of(player));
 
         // Exécuter la commande depuis la console
         try {
@@ -243,12 +533,43 @@ public class RewardManager {
             plugin.getServer().broadcast(message);
         }
 
+        // Garder le vote en cache tant qu'il n'est pas réclamé
+        plugin.getPendingVoteStore().add(vote);
+
         // Vérifier si le joueur est en ligne
-        Player player = Bukkit.getPlayer(vote.getPlayerName());
-        if (player != null && player.isOnline()) {
+        Player player = plugin.getOnlinePlayers().getPlayer(vote);
+        if (player != null) {
             // Distribuer les récompenses immédiatement
             claimRewards(player, vote);
         }
-        // Sinon, les récompenses seront réclamées via /rewards ou au prochain login
+        // Sinon, les récompenses seront réclamées à la prochaine connexion (ou via /rewards)
+    }
+
+    private enum BatchSupport { UNKNOWN, SUPPORTED, UNSUPPORTED }
+
+    /**
+     * Claim en attente d'envoi
+     */
+    private static final class QueuedClaim {
+        final Player player;
+        final VoteEvent vote;
+
+        QueuedClaim(Player player, VoteEvent vote) {
+            this.player = player;
+            this.vote = vote;
+        }
+    }
+
+    /**
+     * Vote réclamé et ses commandes à exécuter
+     */
+    private static final class ClaimedVote {
+        final String voteId;
+        final String[] commands;
+
+        ClaimedVote(String voteId, String[] commands) {
+            this.voteId = voteId;
+            this.commands = commands;
+        }
     }
 }
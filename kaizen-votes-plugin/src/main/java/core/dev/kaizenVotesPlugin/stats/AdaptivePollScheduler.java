@@ -0,0 +1,195 @@
+package core.dev.kaizenVotesPlugin.stats;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.utils.AsyncExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Planificateur du polling des votes dont l'intervalle s'adapte à l'activité:
+ * il se réduit (jusqu'au minimum) quand des votes arrivent, double quand les polls
+ * reviennent vides ou en erreur (jusqu'au maximum) et respecte Retry-After.
+ * Chaque poll n'est replanifié qu'une fois le précédent terminé.
+ */
+public class AdaptivePollScheduler {
+
+    // Poids du dernier poll dans le taux de réussite (moyenne mobile exponentielle)
+    private static final double HIT_RATE_ALPHA = 0.2;
+
+    private final KaizenVotesPlugin plugin;
+    private final Supplier<CompletableFuture<PollResult>> poll;
+
+    private final long minIntervalTicks;
+    private final long maxIntervalTicks;
+
+    private volatile long intervalTicks;
+    private volatile double hitRate = 0;
+    private volatile long totalPolls = 0;
+    private volatile long totalHits = 0;
+    private volatile boolean caughtUp = false;
+
+    private AsyncExecutor.Task task;
+    private boolean running = false;
+
+    /**
+     * @param poll Exécute un poll et retourne son résultat
+     * @param initialIntervalTicks Intervalle de départ
+     * @param minIntervalTicks Intervalle minimum (rafale de votes)
+     * @param maxIntervalTicks Intervalle maximum (serveur calme ou backend en erreur)
+     */
+    public AdaptivePollScheduler(KaizenVotesPlugin plugin, Supplier<CompletableFuture<PollResult>> poll,
+                                 long initialIntervalTicks, long minIntervalTicks, long maxIntervalTicks) {
+        this.plugin = plugin;
+        this.poll = poll;
+        this.minIntervalTicks = Math.max(1L, minIntervalTicks);
+        this.maxIntervalTicks = Math.max(this.minIntervalTicks, maxIntervalTicks);
+        this.intervalTicks = clamp(initialIntervalTicks);
+    }
+
+    /**
+     * Démarre le polling après le délai initial
+     */
+    public synchronized void start(long initialDelayTicks) {
+        if (running) {
+            return;
+        }
+        running = true;
+        schedule(initialDelayTicks);
+    }
+
+    /**
+     * Arrête le polling (un poll déjà en vol ne sera pas replanifié)
+     */
+    public synchronized void stop() {
+        running = false;
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private synchronized void schedule(long delayTicks) {
+        if (!running) {
+            return;
+        }
+        task = plugin.getAsyncExecutor().runLater(this::runPoll, Math.max(1L, delayTicks));
+    }
+
+    private void runPoll() {
+        CompletableFuture<PollResult> future;
+        try {
+            future = poll.get();
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((result, ex) -> {
+            PollResult outcome = ex != null ? PollResult.error(-1) : result;
+            schedule(onResult(outcome));
+        });
+    }
+
+    /**
+     * Met à jour l'intervalle selon le résultat du poll
+     * @return Le délai avant le prochain poll (en ticks)
+     */
+    private synchronized long onResult(PollResult result) {
+        totalPolls++;
+        boolean hit = result.votes > 0;
+        if (hit) {
+            totalHits++;
+        }
+        hitRate = hitRate + HIT_RATE_ALPHA * ((hit ? 1.0 : 0.0) - hitRate);
+        caughtUp = !result.error && !result.hasMore;
+
+        if (result.error) {
+            intervalTicks = clamp(intervalTicks * 2);
+            long retryAfterTicks = result.retryAfterMillis > 0 ? (result.retryAfterMillis + 49) / 50 : 0;
+            // Retry-After prime sur le maximum configuré
+            return Math.max(intervalTicks, retryAfterTicks);
+        }
+
+        if (hit) {
+            intervalTicks = clamp(intervalTicks / 2);
+            // Page pleine: il reste des votes, repoller tout de suite
+            return result.hasMore ? 1L : intervalTicks;
+        }
+
+        intervalTicks = clamp(intervalTicks * 2);
+        return intervalTicks;
+    }
+
+    private long clamp(long ticks) {
+        return Math.max(minIntervalTicks, Math.min(maxIntervalTicks, ticks));
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * Intervalle courant entre deux polls (en ticks)
+     */
+    public long getCurrentIntervalTicks() {
+        return intervalTicks;
+    }
+
+    /**
+     * Part récente des polls ayant ramené au moins un vote (entre 0 et 1)
+     */
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public long getTotalPolls() {
+        return totalPolls;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    /**
+     * Vrai si le dernier poll a réussi et n'a pas laissé de votes plus récents côté backend
+     */
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Résultat d'un poll
+     */
+    public static final class PollResult {
+        final int votes;
+        final boolean hasMore;
+        final boolean error;
+        final long retryAfterMillis;
+
+        private PollResult(int votes, boolean hasMore, boolean error, long retryAfterMillis) {
+            this.votes = votes;
+            this.hasMore = hasMore;
+            this.error = error;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        /**
+         * Poll réussi
+         * @param votes Nombre de nouveaux votes (0 si vide ou 304)
+         * @param hasMore Vrai si la page était pleine
+         */
+        public static PollResult votes(int votes, boolean hasMore) {
+            return new PollResult(votes, hasMore, false, 0);
+        }
+
+        /**
+         * Poll en erreur
+         * @param retryAfterMillis Délai imposé par Retry-After (négatif si absent)
+         */
+        public static PollResult error(long retryAfterMillis) {
+            return new PollResult(0, false, true, retryAfterMillis);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package core.dev.kaizenVotesPlugin.stats;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.KaizenApiClient.ApiResponse;
+import core.dev.kaizenVotesPlugin.api.models.LeaderboardEntry;
+import core.dev.kaizenVotesPlugin.config.ConfigManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cache du classement par page.
+ * Une page fraîche est servie sans appel HTTP; une page expirée est servie telle quelle
+ * pendant qu'un unique rafraîchissement tourne en arrière-plan (stale-while-revalidate).
+ * Les demandes simultanées d'une même page partagent la même requête, et la page
+ * suivante est préchargée quand une page complète est consultée.
+ */
+public class LeaderboardCache {
+
+    // Nombre maximum de pages gardées en mémoire (les moins récemment consultées sont évincées)
+    private static final int MAX_PAGES = 32;
+
+    private final KaizenVotesPlugin plugin;
+    private final ConfigManager config;
+    private final int perPage;
+
+    private final Map<Integer, Slot> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Slot> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+
+    public LeaderboardCache(KaizenVotesPlugin plugin, int perPage) {
+        this.plugin = plugin;
+        this.config = plugin.getConfigManager();
+        this.perPage = perPage;
+    }
+
+    /**
+     * Récupère une page du classement, depuis le cache si possible
+     */
+    public CompletableFuture<ApiResponse<LeaderboardEntry[]>> getPage(int page) {
+        CompletableFuture<ApiResponse<LeaderboardEntry[]>> result;
+
+        synchronized (this) {
+            Slot slot = pages.computeIfAbsent(page, p -> new Slot());
+
+            if (slot.entries != null) {
+                if (isExpired(slot)) {
+                    // Servir la version expirée, un seul rafraîchissement en arrière-plan
+                    fetch(page, slot);
+                }
+                result = CompletableFuture.completedFuture(ApiResponse.success(slot.entries));
+            } else {
+                result = fetch(page, slot);
+            }
+        }
+
+        prefetchNext(page, result);
+        return result;
+    }
+
+    /**
+     * Vide le cache (ex: après /kaizen unlink)
+     */
+    public synchronized void clear() {
+        pages.clear();
+    }
+
+    /**
+     * Lance la requête de la page, ou retourne celle déjà en vol
+     */
+    private CompletableFuture<ApiResponse<LeaderboardEntry[]>> fetch(int page, Slot slot) {
+        if (slot.inFlight != null) {
+            return slot.inFlight;
+        }
+
+        CompletableFuture<ApiResponse<LeaderboardEntry[]>> future = plugin.getApiClient().getLeaderboard(page, perPage);
+        slot.inFlight = future;
+
+        future.whenComplete((response, ex) -> {
+            synchronized (this) {
+                slot.inFlight = null;
+                if (ex == null && response.isSuccess()) {
+                    slot.entries = response.getData() != null ? response.getData() : new LeaderboardEntry[0];
+                    slot.fetchedAt = System.currentTimeMillis();
+                }
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Précharge la page suivante si la page courante est complète
+     */
+    private void prefetchNext(int page, CompletableFuture<ApiResponse<LeaderboardEntry[]>> current) {
+        current.thenAccept(response -> {
+            if (response == null || !response.isSuccess() || response.getData() == null
+                    || response.getData().length < perPage) {
+                return;
+            }
+
+            synchronized (this) {
+                Slot next = pages.computeIfAbsent(page + 1, p -> new Slot());
+                if (next.entries == null || isExpired(next)) {
+                    fetch(page + 1, next);
+                }
+            }
+        });
+    }
+
+    private boolean isExpired(Slot slot) {
+        return System.currentTimeMillis() - slot.fetchedAt >= config.getLeaderboardCacheTtl() * 1000L;
+    }
+
+    /**
+     * Page en cache et éventuelle requête en cours
+     */
+    private static final class Slot {
+        LeaderboardEntry[] entries;
+        long fetchedAt;
+        CompletableFuture<ApiResponse<LeaderboardEntry[]>> inFlight;
+    }
+}
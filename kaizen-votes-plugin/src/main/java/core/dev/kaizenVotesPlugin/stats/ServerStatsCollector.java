@@ -4,10 +4,12 @@ import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
 import core.dev.kaizenVotesPlugin.api.models.ServerInfo;
 import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
 import core.dev.kaizenVotesPlugin.config.ConfigManager;
-import org.bukkit.Bukkit;
+import core.dev.kaizenVotesPlugin.stats.AdaptivePollScheduler.PollResult;
+import core.dev.kaizenVotesPlugin.utils.AsyncExecutor;
+import core.dev.kaizenVotesPlugin.utils.RecentVoteFilter;
 import org.bukkit.Server;
-import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Collecteur et synchroniseur des statistiques du serveur
@@ -17,13 +19,28 @@ public class ServerStatsCollector {
     private final KaizenVotesPlugin plugin;
     private final ConfigManager config;
 
-    private BukkitTask syncTask;
-    private BukkitTask votePollingTask;
+    // Taille de page du backend pour /votes/pending
+    private static final int POLL_PAGE_SIZE = 100;
+
+    // Ids retenus par génération du filtre des votes reçus
+    private static final int RECENT_VOTES_CAPACITY = 4096;
+
+    private final VotePollCursor pollCursor;
+    // Créé au premier démarrage avec WebSocket
+    private volatile VoteDeliverySupervisor deliverySupervisor;
+    // Ids des derniers votes traités, partagés entre WebSocket et polling
+    private final RecentVoteFilter recentVotes;
+
+    private AsyncExecutor.Task syncTask;
+    private volatile AdaptivePollScheduler votePoller;
+    private volatile boolean started = false;
     private long serverStartTime;
 
     public ServerStatsCollector(KaizenVotesPlugin plugin) {
         this.plugin = plugin;
         this.config = plugin.getConfigManager();
+        this.pollCursor = new VotePollCursor(plugin);
+        this.recentVotes = new RecentVoteFilter(config.getVoteDedupWindow() * 1000L, RECENT_VOTES_CAPACITY);
         this.serverStartTime = System.currentTimeMillis();
     }
 
@@ -31,35 +48,44 @@ public class ServerStatsCollector {
      * Démarre la synchronisation périodique des stats
      */
     public void start() {
-        if (!config.isStatsEnabled()) {
-            plugin.getLogger().info("Synchronisation des stats désactivée");
+        if (!config.isLinked()) {
+            plugin.getLogger().info("Serveur non lié, sync des stats en attente");
             return;
         }
 
-        if (!config.isLinked()) {
-            plugin.getLogger().info("Serveur non lié, sync des stats en attente");
+        // Annuler les tâches existantes si présentes
+        stop();
+        started = true;
+
+        // Rafraîchissement partagé du cache des votes en attente
+        plugin.getPendingVoteStore().start();
+
+        // Polling des votes: permanent sans WebSocket, en secours sinon
+        pollCursor.load(config.getServerId());
+        if (config.isWebSocketEnabled()) {
+            if (deliverySupervisor == null) {
+                deliverySupervisor = new VoteDeliverySupervisor(plugin, this);
+            }
+            deliverySupervisor.start();
+        } else {
+            startVotePolling();
+        }
+
+        if (!config.isStatsEnabled()) {
+            plugin.getLogger().info("Synchronisation des stats désactivée");
             return;
         }
 
         int intervalSeconds = config.getStatsSyncInterval();
         long intervalTicks = intervalSeconds * 20L;
 
-        // Annuler la tâche existante si présente
-        stop();
-
         // Démarrer la nouvelle tâche de stats
-        syncTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(
-                plugin,
+        syncTask = plugin.getAsyncExecutor().runTimer(
                 this::syncStats,
                 100L, // Délai initial de 5 secondes
                 intervalTicks
         );
 
-        // Démarrer le polling des votes si WebSocket est désactivé
-        if (!config.isWebSocketEnabled()) {
-            startVotePolling();
-        }
-
         plugin.getLogger().info("Synchronisation des stats démarrée (intervalle: " + intervalSeconds + "s)");
     }
 
@@ -71,63 +97,140 @@ public class ServerStatsCollector {
             syncTask.cancel();
             syncTask = null;
         }
-        if (votePollingTask != null) {
-            votePollingTask.cancel();
-            votePollingTask = null;
+        if (deliverySupervisor != null) {
+            deliverySupervisor.stop();
         }
+        stopVotePolling();
+        plugin.getPendingVoteStore().stop();
+        started = false;
     }
 
     /**
-     * Démarre le polling périodique des votes
+     * Vrai si la synchronisation a été démarrée
      */
-    private void startVotePolling() {
-        // Poll toutes les 10 secondes (200 ticks)
-        votePollingTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Démarre le polling adaptatif des votes depuis le curseur
+     */
+    synchronized void startVotePolling() {
+        if (votePoller != null) {
+            return;
+        }
+
+        votePoller = new AdaptivePollScheduler(
                 plugin,
                 this::pollPendingVotes,
-                60L, // Délai initial de 3 secondes
-                200L // Toutes les 10 secondes
+                200L, // 10 secondes au départ
+                config.getPollMinInterval() * 20L,
+                config.getPollMaxInterval() * 20L
         );
-        plugin.getLogger().info("Polling des votes activé (WebSocket désactivé)");
+        votePoller.start(60L); // Délai initial de 3 secondes
+        plugin.getLogger().info("Polling des votes activé (intervalle "
+                + config.getPollMinInterval() + "-" + config.getPollMaxInterval() + "s)");
+    }
+
+    /**
+     * Arrête le polling des votes
+     */
+    synchronized void stopVotePolling() {
+        if (votePoller != null) {
+            votePoller.stop();
+            votePoller = null;
+        }
+    }
+
+    /**
+     * Superviseur du basculement WebSocket / polling (null avant le premier démarrage avec WebSocket)
+     */
+    public VoteDeliverySupervisor getDeliverySupervisor() {
+        return deliverySupervisor;
+    }
+
+    /**
+     * Enregistre un vote reçu par WebSocket: le curseur avance pour qu'un polling de secours
+     * reparte de ce vote.
+     * @return false si le vote a déjà été traité (reçu par polling pendant une bascule)
+     */
+    public boolean acceptWebSocketVote(VoteEvent vote) {
+        pollCursor.observe(vote);
+        return markProcessed(vote);
+    }
+
+    /**
+     * @return true à la première réception d'un vote, false pour un doublon
+     */
+    private boolean markProcessed(VoteEvent vote) {
+        if (recentVotes.firstSeen(vote.getId())) {
+            return true;
+        }
+        plugin.getVoteMetrics().duplicateVoteDropped();
+        return false;
     }
 
     /**
-     * Poll l'API pour les votes en attente et les traite
+     * Planificateur du polling des votes (null si le polling n'est pas actif)
      */
-    private void pollPendingVotes() {
+    public AdaptivePollScheduler getVotePoller() {
+        return votePoller;
+    }
+
+    /**
+     * Poll l'API pour les votes plus récents que le curseur (moins la marge) et les traite.
+     * Les votes déjà vus sont écartés par le filtre d'ids; ceux des joueurs hors ligne restent
+     * dans le cache local et sont réclamés à la connexion du joueur.
+     */
+    private CompletableFuture<PollResult> pollPendingVotes() {
         if (!config.isLinked()) {
-            return;
+            return CompletableFuture.completedFuture(PollResult.votes(0, false));
         }
 
-        plugin.getApiClient().getPendingVotes().thenAccept(response -> {
+        // Chaque vote est traité dès son décodage, sans attendre la fin de la réponse
+        // Marge plus petite qu'une page: le curseur avance même si les votes revus remplissent la page
+        int margin = Math.min(config.getPollCursorMargin(), POLL_PAGE_SIZE / 2);
+        return plugin.getApiClient().streamPendingVotesSince(pollCursor.getPollFrom(margin), pollCursor.getEtag(), vote -> {
+            plugin.getPendingVoteStore().add(vote);
+            pollCursor.observe(vote);
+            if (markProcessed(vote)) {
+                plugin.getVoteMetrics().voteReceivedFromPolling();
+                processVote(vote);
+            }
+        }).thenApply(response -> {
             if (!response.isSuccess()) {
                 plugin.getLogger().warning("Erreur polling votes: " + response.getError());
-                return;
+                return PollResult.error(response.getRetryAfterMillis());
             }
 
-            VoteEvent[] votes = response.getData();
-            if (votes == null || votes.length == 0) {
-                return;
+            if (response.isNotModified()) {
+                return PollResult.votes(0, false);
             }
 
-            // Traiter chaque vote
-            for (VoteEvent vote : votes) {
-                processVote(vote);
-            }
+            pollCursor.commit(response.getHeader("ETag"));
+
+            // Page pleine: il reste des votes plus récents, le prochain poll part sans attendre
+            int count = response.getData();
+            return PollResult.votes(count, count >= POLL_PAGE_SIZE);
         }).exceptionally(ex -> {
             plugin.getLogger().warning("Erreur polling votes: " + ex.getMessage());
-            return null;
+            return PollResult.error(-1);
         });
     }
 
+    /**
+     * Oublie le curseur de polling (serveur délié)
+     */
+    public void resetPollCursor() {
+        pollCursor.reset();
+    }
+
     /**
      * Traite un vote individuel
      */
     private void processVote(VoteEvent vote) {
-        // Vérifier si le joueur est en ligne (par son username)
-        Player player = Bukkit.getPlayer(vote.getPlayerName());
-
-        if (player != null && player.isOnline()) {
+        // Vérifier si le joueur est en ligne, sans toucher à Bukkit depuis le thread HTTP
+        if (plugin.getOnlinePlayers().isOnline(vote)) {
             // Le joueur est en ligne, distribuer les récompenses
             plugin.getServer().getScheduler().runTask(plugin, () -> {
                 plugin.getRewardManager().processIncomingVote(vote);
@@ -168,7 +271,7 @@ public class ServerStatsCollector {
                 .ip(server.getIp().isEmpty() ? "0.0.0.0" : server.getIp())
                 .port(server.getPort())
                 .version(server.getMinecraftVersion())
-                .playersOnline(server.getOnlinePlayers().size())
+                .playersOnline(plugin.getOnlinePlayers().size())
                 .maxPlayers(server.getMaxPlayers())
                 .tps(getAverageTps())
                 .uptime(getUptime())
@@ -204,6 +307,6 @@ public class ServerStatsCollector {
      * Force une synchronisation immédiate
      */
     public void forceSyncNow() {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::syncStats);
+        plugin.getAsyncExecutor().run(this::syncStats);
     }
 }
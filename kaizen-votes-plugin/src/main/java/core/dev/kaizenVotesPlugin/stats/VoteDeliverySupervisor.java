@@ -0,0 +1,105 @@
+package core.dev.kaizenVotesPlugin.stats;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.KaizenWebSocketClient;
+import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import core.dev.kaizenVotesPlugin.utils.AsyncExecutor;
+
+/**
+ * Superviseur de la réception des votes en mode WebSocket.
+ * Si le socket est déconnecté ou silencieux (aucune trame depuis heartbeat-timeout),
+ * le polling incrémental prend le relais après failover-delay, depuis le même curseur.
+ * Il s'arrête quand le socket est de nouveau sain et que le polling a rattrapé le backend.
+ */
+public class VoteDeliverySupervisor {
+
+    // Checks sains consécutifs avant de rendre la main au WebSocket
+    private static final int RECOVERY_CHECKS = 3;
+
+    private final KaizenVotesPlugin plugin;
+    private final ConfigManager config;
+    private final ServerStatsCollector collector;
+
+    private AsyncExecutor.Task checkTask;
+    private long unhealthySince = -1;
+    private int healthyChecks = 0;
+    private volatile boolean failover = false;
+
+    public VoteDeliverySupervisor(KaizenVotesPlugin plugin, ServerStatsCollector collector) {
+        this.plugin = plugin;
+        this.config = plugin.getConfigManager();
+        this.collector = collector;
+    }
+
+    /**
+     * Démarre la surveillance (une vérification par seconde)
+     */
+    public synchronized void start() {
+        if (checkTask != null) {
+            return;
+        }
+        unhealthySince = -1;
+        healthyChecks = 0;
+        checkTask = plugin.getAsyncExecutor().runTimer(this::check, 20L, 20L);
+    }
+
+    /**
+     * Arrête la surveillance et le polling de secours
+     */
+    public synchronized void stop() {
+        if (checkTask != null) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+        if (failover) {
+            failover = false;
+            collector.stopVotePolling();
+        }
+    }
+
+    /**
+     * Vrai si le polling de secours est actif
+     */
+    public boolean isFailoverActive() {
+        return failover;
+    }
+
+    private synchronized void check() {
+        if (checkTask == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        KaizenWebSocketClient webSocket = plugin.getWebSocketClient();
+        boolean healthy = webSocket != null
+                && webSocket.isConnected()
+                && now - webSocket.getLastActivityMillis() < config.getWebSocketHeartbeatTimeout() * 1000L;
+
+        if (!healthy) {
+            healthyChecks = 0;
+            if (unhealthySince < 0) {
+                unhealthySince = now;
+            }
+            if (!failover && now - unhealthySince >= config.getWebSocketFailoverDelay() * 1000L) {
+                failover = true;
+                plugin.getLogger().warning("WebSocket indisponible, bascule sur le polling des votes");
+                collector.startVotePolling();
+            }
+            return;
+        }
+
+        unhealthySince = -1;
+        if (!failover) {
+            return;
+        }
+
+        healthyChecks++;
+        AdaptivePollScheduler poller = collector.getVotePoller();
+        boolean caughtUp = webSocket.getIncomingQueueDepth() == 0 && (poller == null || poller.isCaughtUp());
+        if (healthyChecks >= RECOVERY_CHECKS && caughtUp) {
+            failover = false;
+            collector.stopVotePolling();
+            plugin.getLogger().info("WebSocket rétabli, arrêt du polling des votes");
+        }
+    }
+}
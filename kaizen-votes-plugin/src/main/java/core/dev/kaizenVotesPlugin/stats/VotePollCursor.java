@@ -0,0 +1,127 @@
+package core.dev.kaizenVotesPlugin.stats;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Curseur du polling incrémental des votes: id du dernier vote vu et dernier ETag reçu.
+ * Persisté dans poll-cursor.yml pour reprendre après un redémarrage sans tout relire.
+ * Les ids ne sont pas validés dans l'ordre côté backend: chaque poll repart un peu avant
+ * le curseur (getPollFrom) pour revoir un vote validé après un vote plus récent.
+ */
+public class VotePollCursor {
+
+    private final KaizenVotesPlugin plugin;
+    private final File file;
+
+    private String serverId;
+    private String lastVoteId;
+    private String etag;
+
+    public VotePollCursor(KaizenVotesPlugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "poll-cursor.yml");
+    }
+
+    /**
+     * Charge le curseur persisté; il est ignoré s'il appartient à un autre serveur lié
+     */
+    public synchronized void load(String currentServerId) {
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+        serverId = yaml.getString("server-id", "");
+        lastVoteId = yaml.getString("last-vote-id", null);
+        etag = yaml.getString("etag", null);
+
+        if (!currentServerId.equals(serverId)) {
+            serverId = currentServerId;
+            lastVoteId = null;
+            etag = null;
+        }
+    }
+
+    public synchronized String getLastVoteId() {
+        return lastVoteId;
+    }
+
+    /**
+     * Point de départ du prochain poll: le curseur reculé de margin ids
+     * (ids non numériques: le curseur tel quel)
+     */
+    public synchronized String getPollFrom(int margin) {
+        if (lastVoteId == null || lastVoteId.isEmpty() || margin <= 0) {
+            return lastVoteId;
+        }
+        try {
+            long from = Long.parseLong(lastVoteId) - margin;
+            return from > 0 ? Long.toString(from) : null;
+        } catch (NumberFormatException e) {
+            return lastVoteId;
+        }
+    }
+
+    public synchronized String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Avance le curseur sur un vote reçu (le curseur garde le plus grand id)
+     */
+    public synchronized void observe(VoteEvent vote) {
+        if (isAfter(vote.getId(), lastVoteId)) {
+            lastVoteId = vote.getId();
+        }
+    }
+
+    /**
+     * Enregistre l'ETag d'une réponse 200 complète et sauvegarde le curseur
+     * @param newEtag L'ETag de la réponse (peut être null)
+     */
+    public synchronized void commit(String newEtag) {
+        etag = newEtag;
+        save();
+    }
+
+    /**
+     * Oublie le curseur (serveur délié)
+     */
+    public synchronized void reset() {
+        lastVoteId = null;
+        etag = null;
+        if (file.exists() && !file.delete()) {
+            plugin.getLogger().warning("Impossible de supprimer " + file.getName());
+        }
+    }
+
+    private void save() {
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+        yaml.set("server-id", serverId);
+        yaml.set("last-vote-id", lastVoteId);
+        yaml.set("etag", etag);
+        try {
+            yaml.save(file);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Impossible de sauvegarder le curseur de polling: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compare deux ids de vote (numériques côté backend, comparaison textuelle sinon)
+     */
+    private static boolean isAfter(String id, String current) {
+        if (id == null || id.isEmpty()) {
+            return false;
+        }
+        if (current == null || current.isEmpty()) {
+            return true;
+        }
+        try {
+            return Long.parseLong(id) > Long.parseLong(current);
+        } catch (NumberFormatException e) {
+            return id.compareTo(current) > 0;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package core.dev.kaizenVotesPlugin.utils;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exécution des tâches asynchrones du plugin (stats, polling, journal, reconnexion).
+ * Par défaut les tâches passent par le scheduler asynchrone de Bukkit, partagé avec
+ * les autres plugins. En mode threads virtuels, elles tournent sur un exécuteur
+ * propre au plugin (un thread virtuel par tâche), les délais étant gérés par un
+ * unique thread de planification.
+ */
+public class AsyncExecutor {
+
+    // Durée d'un tick serveur
+    private static final long TICK_MILLIS = 50L;
+
+    private final KaizenVotesPlugin plugin;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService timer;
+
+    /**
+     * @param virtualThreads true pour utiliser l'exécuteur à threads virtuels du plugin
+     */
+    public AsyncExecutor(KaizenVotesPlugin plugin, boolean virtualThreads) {
+        this.plugin = plugin;
+        if (virtualThreads) {
+            this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("Kaizen-Async-", 0).factory());
+            this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Kaizen-Timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.workers = null;
+            this.timer = null;
+        }
+    }
+
+    /**
+     * Vrai si les tâches tournent sur les threads virtuels du plugin
+     */
+    public boolean isVirtual() {
+        return workers != null;
+    }
+
+    /**
+     * Exécute une tâche dès que possible
+     */
+    public Task run(Runnable task) {
+        if (workers == null) {
+            return wrap(plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task));
+        }
+        return wrap(workers.submit(guard(task)));
+    }
+
+    /**
+     * Exécute une tâche après un délai (en ticks)
+     */
+    public Task runLater(Runnable task, long delayTicks) {
+        if (workers == null) {
+            return wrap(plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, task, delayTicks));
+        }
+        return wrap(timer.schedule(() -> workers.execute(guard(task)), delayTicks * TICK_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Exécute une tâche périodiquement (délai et période en ticks).
+     * En mode threads virtuels, chaque exécution planifie la suivante en se terminant:
+     * deux exécutions ne se chevauchent jamais et le thread de planification n'attend aucune tâche.
+     */
+    public Task runTimer(Runnable task, long delayTicks, long periodTicks) {
+        if (workers == null) {
+            return wrap(plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, task, delayTicks, periodTicks));
+        }
+        PeriodicTask periodic = new PeriodicTask(guard(task), periodTicks * TICK_MILLIS);
+        periodic.schedule(delayTicks * TICK_MILLIS);
+        return periodic;
+    }
+
+    /**
+     * Arrête les exécuteurs du plugin (sans effet en mode Bukkit)
+     */
+    public void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+        if (workers != null) {
+            workers.shutdown();
+            try {
+                if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                    workers.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                workers.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Runnable guard(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                plugin.getLogger().warning("Erreur tâche asynchrone: " + t);
+            }
+        };
+    }
+
+    private static Task wrap(BukkitTask task) {
+        return task::cancel;
+    }
+
+    private static Task wrap(Future<?> future) {
+        return () -> future.cancel(false);
+    }
+
+    /**
+     * Tâche périodique en mode threads virtuels, replanifiée à la fin de chaque exécution
+     */
+    private final class PeriodicTask implements Task {
+        private final Runnable task;
+        private final long periodMillis;
+        private volatile boolean cancelled = false;
+        private volatile Future<?> next;
+
+        private PeriodicTask(Runnable task, long periodMillis) {
+            this.task = task;
+            this.periodMillis = periodMillis;
+        }
+
+        private void schedule(long delayMillis) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                Future<?> scheduled = timer.schedule(() -> workers.execute(this::runOnce), delayMillis, TimeUnit.MILLISECONDS);
+                next = scheduled;
+                // Annulée pendant la planification
+                if (cancelled) {
+                    scheduled.cancel(false);
+                }
+            } catch (RejectedExecutionException ignored) {
+                // Arrêt de l'exécuteur: la tâche périodique s'arrête
+            }
+        }
+
+        private void runOnce() {
+            try {
+                task.run();
+            } finally {
+                schedule(periodMillis);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Future<?> scheduled = next;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Tâche planifiée, annulable
+     */
+    @FunctionalInterface
+    public interface Task {
+        void cancel();
+    }
+}
@@ -0,0 +1,82 @@
+package core.dev.kaizenVotesPlugin.utils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Filtre des ids de vote récemment vus, borné en temps et en mémoire.
+ * Deux ensembles tournent: les ids sont ajoutés à la génération courante, et une
+ * génération est abandonnée à chaque rotation (fenêtre écoulée ou génération pleine).
+ * Un id reste donc connu entre une et deux fenêtres, pour un coût O(1) par vote.
+ */
+public class RecentVoteFilter {
+
+    private final long windowMillis;
+    private final int maxPerGeneration;
+
+    private Set<String> current = new HashSet<>();
+    private Set<String> previous = new HashSet<>();
+    private long generationStart = System.currentTimeMillis();
+
+    /**
+     * @param windowMillis Durée d'une génération
+     * @param maxPerGeneration Nombre d'ids au-delà duquel une génération tourne avant la fin de sa fenêtre
+     */
+    public RecentVoteFilter(long windowMillis, int maxPerGeneration) {
+        this.windowMillis = Math.max(1L, windowMillis);
+        this.maxPerGeneration = Math.max(1, maxPerGeneration);
+    }
+
+    /**
+     * Enregistre un id
+     * @return true s'il n'avait pas été vu récemment (null est toujours accepté)
+     */
+    public synchronized boolean firstSeen(String voteId) {
+        if (voteId == null) {
+            return true;
+        }
+        rotateIfNeeded();
+        if (previous.contains(voteId)) {
+            return false;
+        }
+        return current.add(voteId);
+    }
+
+    /**
+     * Oublie un id, pour qu'il puisse de nouveau passer (ex: claim en erreur à réessayer)
+     */
+    public synchronized void forget(String voteId) {
+        if (voteId != null) {
+            current.remove(voteId);
+            previous.remove(voteId);
+        }
+    }
+
+    /**
+     * Nombre d'ids actuellement retenus
+     */
+    public synchronized int size() {
+        return current.size() + previous.size();
+    }
+
+    public synchronized void clear() {
+        current.clear();
+        previous.clear();
+        generationStart = System.currentTimeMillis();
+    }
+
+    private void rotateIfNeeded() {
+        long now = System.currentTimeMillis();
+        if (now - generationStart < windowMillis && current.size() < maxPerGeneration) {
+            return;
+        }
+        // Plus de deux fenêtres sans activité: les deux générations ont expiré
+        if (now - generationStart >= 2 * windowMillis) {
+            previous.clear();
+        } else {
+            previous = current;
+        }
+        current = new HashSet<>();
+        generationStart = now;
+    }
+}
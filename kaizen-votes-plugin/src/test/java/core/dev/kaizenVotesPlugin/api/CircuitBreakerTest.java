@@ -0,0 +1,136 @@
+package core.dev.kaizenVotesPlugin.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = 1_000_000L; // 1ms
+
+    @Test
+    void opensWhenFailureRateIsReached() {
+        CircuitBreaker breaker = new CircuitBreaker(50, 5000, 60_000);
+
+        record(breaker, 5, false);
+        record(breaker, 4, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        // 5 échecs sur 10 appels: 50%
+        record(breaker, 1, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+        assertEquals(1, breaker.getTimesOpened());
+        assertTrue(breaker.getRemainingOpenMillis() > 0);
+    }
+
+    @Test
+    void doesNotOpenBeforeMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(50, 5000, 60_000);
+
+        for (int i = 0; i < 9; i++) {
+            breaker.record(breaker.tryAcquire(), true, FAST);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void slowCallCountsAsFailure() {
+        CircuitBreaker breaker = new CircuitBreaker(100, 10, 60_000);
+
+        for (int i = 0; i < 10; i++) {
+            breaker.record(breaker.tryAcquire(), false, 20_000_000L);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void onlyOneProbeIsAllowedAndItsSuccessCloses() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker();
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire();
+        assertNotNull(probe);
+        assertTrue(probe.isProbe());
+        assertNull(breaker.tryAcquire());
+
+        breaker.record(probe, false, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.0, breaker.getFailureRate());
+    }
+
+    @Test
+    void probeFailureReopens() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker();
+
+        breaker.record(breaker.tryAcquire(), true, FAST);
+
+        assertEquals(2, breaker.getTimesOpened());
+    }
+
+    @Test
+    void callsAdmittedBeforeOpeningDoNotDecideHalfOpenState() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(50, 5000, 1);
+        CircuitBreaker.Permit late = breaker.tryAcquire();
+        for (int i = 0; i < 10; i++) {
+            breaker.record(breaker.tryAcquire(), true, FAST);
+        }
+        Thread.sleep(5L);
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire();
+        assertNotNull(probe);
+
+        // Un appel parti quand le circuit était fermé finit pendant l'appel de test
+        breaker.record(late, false, FAST);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+
+        breaker.record(probe, false, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void cancelledProbeFreesTheSlot() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker();
+
+        breaker.cancel(breaker.tryAcquire());
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire();
+        assertNotNull(probe);
+        assertTrue(probe.isProbe());
+    }
+
+    @Test
+    void cancelInClosedStateDoesNotCount() {
+        CircuitBreaker breaker = new CircuitBreaker(50, 5000, 60_000);
+
+        for (int i = 0; i < 20; i++) {
+            breaker.cancel(breaker.tryAcquire());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertFalse(breaker.getFailureRate() > 0);
+    }
+
+    /**
+     * Circuit ouvert dont la durée d'ouverture (1ms) est écoulée
+     */
+    private static CircuitBreaker openBreaker() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(50, 5000, 1);
+        record(breaker, 10, true);
+        Thread.sleep(5L);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        return breaker;
+    }
+
+    private static void record(CircuitBreaker breaker, int calls, boolean failed) {
+        for (int i = 0; i < calls; i++) {
+            breaker.record(breaker.tryAcquire(), failed, FAST);
+        }
+    }
+}
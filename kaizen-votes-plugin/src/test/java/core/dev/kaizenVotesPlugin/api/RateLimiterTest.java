@@ -0,0 +1,103 @@
+package core.dev.kaizenVotesPlugin.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void burstPassesThenRequestsWaitForTokens() throws Exception {
+        // claims: 20/s, rafale de 40
+        RateLimiter limiter = new RateLimiter(1000, 1000, rates(EndpointGroup.CLAIMS, 20.0), 10_000);
+
+        for (int i = 0; i < 40; i++) {
+            assertTrue(limiter.acquire(EndpointGroup.CLAIMS).isDone());
+        }
+        CompletableFuture<Boolean> delayed = limiter.acquire(EndpointGroup.CLAIMS);
+
+        assertFalse(delayed.isDone());
+        assertEquals(1, limiter.getQueued(EndpointGroup.CLAIMS));
+        assertTrue(delayed.get(2, TimeUnit.SECONDS));
+        assertEquals(1, limiter.getDelayed(EndpointGroup.CLAIMS));
+        assertEquals(0, limiter.getDropped(EndpointGroup.CLAIMS));
+    }
+
+    @Test
+    void droppableGroupIsDroppedWhenItsQueueIsFull() {
+        // stats: 1/s, rafale de 2, file de 4
+        RateLimiter limiter = new RateLimiter(1000, 1000, rates(EndpointGroup.STATS, 1.0), 10_000);
+
+        List<CompletableFuture<Boolean>> permits = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            permits.add(limiter.acquire(EndpointGroup.STATS));
+        }
+        CompletableFuture<Boolean> dropped = limiter.acquire(EndpointGroup.STATS);
+
+        assertTrue(permits.get(0).join());
+        assertTrue(permits.get(1).join());
+        assertEquals(4, limiter.getQueued(EndpointGroup.STATS));
+        assertTrue(dropped.isDone());
+        assertFalse(dropped.join());
+        assertEquals(1, limiter.getDropped(EndpointGroup.STATS));
+    }
+
+    @Test
+    void droppableRequestIsAbandonedAfterMaxWait() throws Exception {
+        RateLimiter limiter = new RateLimiter(1000, 1000, rates(EndpointGroup.LEADERBOARD, 0.01), 50);
+
+        assertTrue(limiter.acquire(EndpointGroup.LEADERBOARD).join());
+        CompletableFuture<Boolean> waiting = limiter.acquire(EndpointGroup.LEADERBOARD);
+
+        assertFalse(waiting.get(3, TimeUnit.SECONDS));
+        assertEquals(1, limiter.getDropped(EndpointGroup.LEADERBOARD));
+    }
+
+    @Test
+    void globalReserveKeepsTokensForHigherPriorities() {
+        // Seau global de 5: le classement (priorité 3) ne peut pas descendre sous 3 jetons
+        Map<EndpointGroup, Double> groupRates = new EnumMap<>(EndpointGroup.class);
+        groupRates.put(EndpointGroup.LEADERBOARD, 100.0);
+        groupRates.put(EndpointGroup.CLAIMS, 100.0);
+        RateLimiter limiter = new RateLimiter(0.01, 5, groupRates, 10_000);
+
+        assertTrue(limiter.acquire(EndpointGroup.LEADERBOARD).join());
+        assertTrue(limiter.acquire(EndpointGroup.LEADERBOARD).join());
+        assertFalse(limiter.acquire(EndpointGroup.LEADERBOARD).isDone());
+
+        // Les claims n'ont pas de réserve et consomment le reste
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<Boolean> claim = limiter.acquire(EndpointGroup.CLAIMS);
+            assertTrue(claim.isDone() && claim.join());
+        }
+        assertFalse(limiter.acquire(EndpointGroup.CLAIMS).isDone());
+    }
+
+    @Test
+    void pauseHoldsEveryGroupUntilItEnds() throws Exception {
+        RateLimiter limiter = new RateLimiter(1000, 1000, Map.of(), 10_000);
+
+        limiter.pause(200);
+        CompletableFuture<Boolean> claim = limiter.acquire(EndpointGroup.CLAIMS);
+
+        assertTrue(limiter.getRemainingPauseMillis() > 0);
+        assertFalse(claim.isDone());
+        assertTrue(claim.get(2, TimeUnit.SECONDS));
+        assertEquals(0, limiter.getRemainingPauseMillis());
+    }
+
+    private static Map<EndpointGroup, Double> rates(EndpointGroup group, double rate) {
+        Map<EndpointGroup, Double> rates = new EnumMap<>(EndpointGroup.class);
+        rates.put(group, rate);
+        return rates;
+    }
+}
@@ -0,0 +1,253 @@
+package core.dev.kaizenVotesPlugin.loadtest;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import core.dev.kaizenVotesPlugin.api.KaizenApiClient;
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import core.dev.kaizenVotesPlugin.metrics.LatencyHistogram;
+import core.dev.kaizenVotesPlugin.metrics.VoteMetrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Générateur de charge: envoie N votes par seconde au backend simulé et mesure le débit
+ * de bout en bout du plugin (réception WebSocket ou polling, puis claim).
+ *
+ * <p>Arguments au format clé=valeur (./gradlew loadTest -Pload.rate=500 -Pload.mode=poll):
+ * <ul>
+ *   <li>rate: votes par seconde (200)</li>
+ *   <li>duration: durée d'envoi en secondes (30)</li>
+ *   <li>mode: ws ou poll (ws)</li>
+ *   <li>players: nombre de joueurs distincts (500)</li>
+ *   <li>latency: latence du backend en ms, fixe ou min-max (0)</li>
+ *   <li>error-rate: part des requêtes refusées par un 503 (0)</li>
+ *   <li>lost-rate: part des requêtes traitées dont la réponse est perdue (0)</li>
+ *   <li>drain-timeout: attente maximale des derniers claims en secondes (30)</li>
+ *   <li>out: fichier de résultats JSON (build/reports/load/results.json)</li>
+ * </ul>
+ * Toute autre clé contenant un point remplace la valeur de config.yml correspondante
+ * (ex: api.rate-limit.enabled=false).
+ */
+public final class LoadGenerator {
+
+    private static final long POLL_INTERVAL_MILLIS = 250L;
+    private static final int CLAIM_BATCH_SIZE = 50;
+
+    private final Map<String, String> options;
+    private final LongAdder claimSucceeded = new LongAdder();
+    private final LongAdder claimFailed = new LongAdder();
+    private final AtomicLong cursor = new AtomicLong(0);
+
+    private LoadGenerator(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Argument invalide (attendu clé=valeur): " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        new LoadGenerator(options).run();
+        // Threads OkHttp et WebSocket non démons
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        String mode = options.getOrDefault("mode", "ws");
+        int players = Integer.parseInt(options.getOrDefault("players", "500"));
+        int drainTimeout = Integer.parseInt(options.getOrDefault("drain-timeout", "30"));
+        if (!mode.equals("ws") && !mode.equals("poll")) {
+            throw new IllegalArgumentException("Mode inconnu: " + mode + " (ws ou poll)");
+        }
+
+        try (MockKaizenBackend backend = new MockKaizenBackend()) {
+            backend.start();
+            String[] latency = options.getOrDefault("latency", "0").split("-");
+            backend.setLatency(Long.parseLong(latency[0]), Long.parseLong(latency[latency.length - 1]));
+            backend.setErrorRate(Double.parseDouble(options.getOrDefault("error-rate", "0")));
+            backend.setLostResponseRate(Double.parseDouble(options.getOrDefault("lost-rate", "0")));
+
+            try (PluginFixture fixture = new PluginFixture(backend, configOverrides())) {
+                ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+                try {
+                    if (mode.equals("ws")) {
+                        connectWebSocket(fixture);
+                    } else {
+                        scheduler.scheduleWithFixedDelay(() -> poll(fixture.getApiClient()),
+                                0, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+
+                    System.out.printf("Envoi de %.0f votes/s pendant %ds (%s)%n", rate, duration, mode);
+                    long start = System.nanoTime();
+                    long periodNanos = (long) Math.max(1, 1e9 / rate);
+                    scheduler.scheduleAtFixedRate(() -> backend.submitVote(
+                                    "Player" + ThreadLocalRandom.current().nextInt(players)),
+                            0, periodNanos, TimeUnit.NANOSECONDS);
+
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(duration));
+                    scheduler.shutdown();
+                    scheduler.awaitTermination(1, TimeUnit.SECONDS);
+                    long submitted = backend.getSubmittedCount();
+
+                    // Attendre les derniers claims
+                    long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(drainTimeout);
+                    while (backend.getUnclaimedCount() > 0 && System.nanoTime() < drainDeadline) {
+                        if (mode.equals("poll")) {
+                            poll(fixture.getApiClient());
+                        }
+                        Thread.sleep(POLL_INTERVAL_MILLIS);
+                    }
+                    double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+                    report(backend, fixture, mode, rate, duration, submitted, elapsedSeconds);
+                } finally {
+                    scheduler.shutdownNow();
+                }
+            }
+        }
+    }
+
+    private Map<String, Object> configOverrides() {
+        Map<String, Object> overrides = new HashMap<>();
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            if (option.getKey().contains(".")) {
+                overrides.put(option.getKey(), parseValue(option.getValue()));
+            }
+        }
+        return overrides;
+    }
+
+    private static Object parseValue(String value) {
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(value);
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            // pas un entier
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+
+    /**
+     * Chaque vote reçu par le WebSocket est réclamé, comme le fait RewardManager
+     */
+    private void connectWebSocket(PluginFixture fixture) throws InterruptedException {
+        KaizenApiClient api = fixture.getApiClient();
+        fixture.getWebSocketClient().onVoteReceived(vote -> claim(api, vote.getId()));
+        fixture.getWebSocketClient().connect();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!fixture.getWebSocketClient().isConnected()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Connexion WebSocket au backend simulé impossible");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Polling incrémental depuis le dernier vote vu, puis claim groupé
+     */
+    private void poll(KaizenApiClient api) {
+        List<String> voteIds = new ArrayList<>();
+        api.streamPendingVotesSince(Long.toString(cursor.get()), null, (VoteEvent vote) -> {
+            voteIds.add(vote.getId());
+            cursor.accumulateAndGet(Long.parseLong(vote.getId()), Math::max);
+        }).join();
+
+        for (int from = 0; from < voteIds.size(); from += CLAIM_BATCH_SIZE) {
+            List<String> batch = voteIds.subList(from, Math.min(voteIds.size(), from + CLAIM_BATCH_SIZE));
+            api.claimVotes(new ArrayList<>(batch)).whenComplete((response, error) -> {
+                if (error == null && response.isSuccess() && response.getData() != null) {
+                    claimSucceeded.add(batch.size());
+                } else {
+                    claimFailed.add(batch.size());
+                    // Les votes non réclamés seront revus au prochain polling complet
+                    cursor.set(0);
+                }
+            });
+        }
+    }
+
+    private void claim(KaizenApiClient api, String voteId) {
+        api.claimVote(voteId).whenComplete((response, error) -> {
+            if (error == null && response.isSuccess()) {
+                claimSucceeded.increment();
+            } else {
+                claimFailed.increment();
+            }
+        });
+    }
+
+    private void report(MockKaizenBackend backend, PluginFixture fixture, String mode, double rate, int duration,
+                        long submitted, double elapsedSeconds) throws IOException {
+        LatencyHistogram endToEnd = backend.getEndToEndLatency();
+        VoteMetrics votes = fixture.getVoteMetrics();
+
+        JsonObject results = new JsonObject();
+        results.addProperty("mode", mode);
+        results.addProperty("target_rate", rate);
+        results.addProperty("duration_seconds", duration);
+        results.addProperty("votes_submitted", submitted);
+        results.addProperty("votes_claimed", backend.getClaimedCount());
+        results.addProperty("votes_unclaimed", backend.getUnclaimedCount());
+        results.addProperty("throughput_per_second", backend.getClaimedCount() / elapsedSeconds);
+        results.addProperty("end_to_end_p50_ms", endToEnd.getPercentileMicros(50) / 1000.0);
+        results.addProperty("end_to_end_p95_ms", endToEnd.getPercentileMicros(95) / 1000.0);
+        results.addProperty("end_to_end_p99_ms", endToEnd.getPercentileMicros(99) / 1000.0);
+        results.addProperty("end_to_end_max_ms", endToEnd.getMaxMicros() / 1000.0);
+        results.addProperty("claim_requests_failed", claimFailed.sum());
+        results.addProperty("claim_retries", votes.getClaimRetries());
+        results.addProperty("claim_hedges", votes.getClaimHedges());
+        results.addProperty("duplicate_claims", backend.getDuplicateClaims());
+        results.addProperty("replayed_claims", backend.getReplayedClaims());
+        results.addProperty("backend_requests", backend.getRequestCount());
+        results.addProperty("injected_errors", backend.getInjectedErrors());
+        results.addProperty("lost_responses", backend.getLostResponses());
+        results.addProperty("websocket_reconnects", votes.getWebSocketReconnects());
+
+        System.out.printf("Votes réclamés: %d/%d en %.1fs (%.1f votes/s)%n",
+                backend.getClaimedCount(), submitted, elapsedSeconds, backend.getClaimedCount() / elapsedSeconds);
+        System.out.printf("Latence de bout en bout: p50 %.1fms, p95 %.1fms, p99 %.1fms, max %.1fms%n",
+                endToEnd.getPercentileMicros(50) / 1000.0, endToEnd.getPercentileMicros(95) / 1000.0,
+                endToEnd.getPercentileMicros(99) / 1000.0, endToEnd.getMaxMicros() / 1000.0);
+        System.out.printf("Claims: %d nouvelles tentatives, %d doublés, %d rejoués, %d en double, %d en échec%n",
+                votes.getClaimRetries(), votes.getClaimHedges(), backend.getReplayedClaims(),
+                backend.getDuplicateClaims(), claimFailed.sum());
+
+        Path output = Path.of(options.getOrDefault("out", "build/reports/load/results.json"));
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(results, writer);
+        }
+        System.out.println("Résultats: " + output.toAbsolutePath());
+    }
+}
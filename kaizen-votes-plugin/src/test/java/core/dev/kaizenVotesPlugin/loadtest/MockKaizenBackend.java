@@ -0,0 +1,675 @@
+package core.dev.kaizenVotesPlugin.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import core.dev.kaizenVotesPlugin.metrics.LatencyHistogram;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+
+import javax.net.ServerSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Backend Kaizen simulé pour les tests et la mesure de débit hors ligne:
+ * l'API REST (MockWebServer) et le flux WebSocket des votes (Java-WebSocket),
+ * avec latence et erreurs injectables.
+ * Les claims respectent le contrat du vrai backend: un vote n'est réclamé qu'une fois (409 ensuite)
+ * et une requête rejouée avec la même Idempotency-Key reçoit la réponse d'origine
+ * (pour un claim groupé, chaque vote porte sa clé et reçoit son résultat d'origine).
+ */
+public class MockKaizenBackend implements AutoCloseable {
+
+    public static final String SERVER_ID = "1";
+    public static final String SERVER_TOKEN = "mock-server-token";
+
+    private static final Pattern CLAIM = Pattern.compile("/votes/(\\d+)/claim");
+    private static final Pattern SERVER = Pattern.compile("/servers/([^/]+)(/.*)");
+    private static final Pattern PLAYER_POSITION = Pattern.compile("/leaderboard/player/([^/]+)");
+
+    private final Gson gson = new Gson();
+    private final MockWebServer http = new MockWebServer();
+    private final VoteStream stream = new VoteStream();
+
+    private final ConcurrentSkipListMap<Long, MockVote> votes = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextVoteId = new AtomicLong(1);
+    private final Map<String, StoredResponse> idempotentResponses = new ConcurrentHashMap<>();
+    private final Map<String, JsonObject> idempotentResults = new ConcurrentHashMap<>();
+
+    // Injection de latence et d'erreurs
+    private volatile long minLatencyMillis = 0;
+    private volatile long maxLatencyMillis = 0;
+    private volatile double errorRate = 0;
+    private volatile double lostResponseRate = 0;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder claimed = new LongAdder();
+    private final LongAdder duplicateClaims = new LongAdder();
+    private final LongAdder replayedClaims = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder lostResponses = new LongAdder();
+    private final LatencyHistogram endToEnd = new LatencyHistogram();
+
+    /**
+     * Démarre l'API REST et le serveur WebSocket sur des ports libres de la boucle locale
+     */
+    public void start() throws IOException, InterruptedException {
+        http.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return handle(request);
+            }
+        });
+        http.setServerSocketFactory(new NoDelayServerSocketFactory());
+        http.start();
+        stream.setReuseAddr(true);
+        stream.start();
+        if (!stream.started.await(5, TimeUnit.SECONDS)) {
+            throw new IOException("Le serveur WebSocket simulé n'a pas démarré");
+        }
+    }
+
+    /**
+     * URL à mettre dans api.base-url
+     */
+    public String getBaseUrl() {
+        String url = http.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    /**
+     * URL à mettre dans api.websocket-url
+     */
+    public String getWebSocketUrl() {
+        return "ws://127.0.0.1:" + stream.getPort();
+    }
+
+    // ==================== Injection ====================
+
+    /**
+     * Latence ajoutée avant chaque réponse REST, tirée uniformément entre min et max
+     */
+    public void setLatency(long minMillis, long maxMillis) {
+        this.minLatencyMillis = Math.max(0, minMillis);
+        this.maxLatencyMillis = Math.max(this.minLatencyMillis, maxMillis);
+    }
+
+    /**
+     * Part des requêtes REST refusées par un 503 avant traitement
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Part des requêtes REST traitées mais dont la réponse est perdue (connexion coupée)
+     */
+    public void setLostResponseRate(double lostResponseRate) {
+        this.lostResponseRate = lostResponseRate;
+    }
+
+    /**
+     * Coupe toutes les connexions WebSocket (le client doit se reconnecter et reprendre la session)
+     */
+    public void dropWebSocketConnections() {
+        for (WebSocket connection : stream.getConnections()) {
+            connection.close(1012, "Redémarrage du backend simulé");
+        }
+    }
+
+    // ==================== Votes ====================
+
+    /**
+     * Enregistre un vote et le diffuse aux serveurs connectés en WebSocket
+     */
+    public MockVote submitVote(String playerName) {
+        MockVote vote = new MockVote(nextVoteId.getAndIncrement(), playerName);
+        votes.put(vote.id, vote);
+        stream.broadcast(message("vote.received", vote.toJson()));
+        return vote;
+    }
+
+    /**
+     * Enregistre plusieurs votes et les diffuse du plus récent au plus ancien
+     * (transactions validées dans le désordre: les ids n'arrivent pas triés)
+     */
+    public List<MockVote> submitVotesInReverseOrder(String playerName, int count) {
+        List<MockVote> submitted = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MockVote vote = new MockVote(nextVoteId.getAndIncrement(), playerName);
+            votes.put(vote.id, vote);
+            submitted.add(vote);
+        }
+        for (int i = submitted.size() - 1; i >= 0; i--) {
+            stream.broadcast(message("vote.received", submitted.get(i).toJson()));
+        }
+        return submitted;
+    }
+
+    public long getSubmittedCount() {
+        return votes.size();
+    }
+
+    public long getClaimedCount() {
+        return claimed.sum();
+    }
+
+    public long getUnclaimedCount() {
+        return votes.size() - claimed.sum();
+    }
+
+    /**
+     * Claims refusés car le vote était déjà réclamé (hors rejeux idempotents)
+     */
+    public long getDuplicateClaims() {
+        return duplicateClaims.sum();
+    }
+
+    /**
+     * Claims servis depuis la réponse enregistrée pour leur Idempotency-Key
+     */
+    public long getReplayedClaims() {
+        return replayedClaims.sum();
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    public long getLostResponses() {
+        return lostResponses.sum();
+    }
+
+    /**
+     * Délai entre l'enregistrement d'un vote et son claim
+     */
+    public LatencyHistogram getEndToEndLatency() {
+        return endToEnd;
+    }
+
+    // ==================== REST ====================
+
+    private MockResponse handle(RecordedRequest request) {
+        requests.increment();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        MockResponse response;
+        if (random.nextDouble() < errorRate) {
+            injectedErrors.increment();
+            response = json(503, error("Service indisponible (erreur injectée)")).addHeader("Retry-After", "1");
+        } else {
+            response = route(request);
+            if (random.nextDouble() < lostResponseRate) {
+                lostResponses.increment();
+                return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+            }
+        }
+
+        long latency = maxLatencyMillis > minLatencyMillis
+                ? random.nextLong(minLatencyMillis, maxLatencyMillis + 1)
+                : minLatencyMillis;
+        return latency > 0 ? response.setHeadersDelay(latency, TimeUnit.MILLISECONDS) : response;
+    }
+
+    private MockResponse route(RecordedRequest request) {
+        HttpUrl url = Objects.requireNonNull(request.getRequestUrl());
+        String path = url.encodedPath();
+        if (!path.startsWith("/api/v1/")) {
+            return json(404, error("Not found"));
+        }
+        path = path.substring("/api/v1".length());
+        String method = request.getMethod();
+
+        if ("POST".equals(method) && path.equals("/servers/pair")) {
+            return pair();
+        }
+        if (!isAuthenticated(request)) {
+            return json(401, error("Unauthenticated"));
+        }
+
+        Matcher claim = CLAIM.matcher(path);
+        if ("POST".equals(method) && claim.matches()) {
+            String voteId = claim.group(1);
+            return idempotent(request, () -> claimOne(voteId));
+        }
+        if ("POST".equals(method) && path.equals("/votes/claim")) {
+            JsonObject body = gson.fromJson(request.getBody().readString(StandardCharsets.UTF_8), JsonObject.class);
+            return claimBatch(body).toResponse();
+        }
+
+        Matcher server = SERVER.matcher(path);
+        if (!server.matches()) {
+            return json(404, error("Not found"));
+        }
+        if (!SERVER_ID.equals(server.group(1))) {
+            return json(403, error("Forbidden"));
+        }
+        String resource = server.group(2);
+        Matcher position = PLAYER_POSITION.matcher(resource);
+
+        if ("GET".equals(method) && resource.equals("/votes/pending")) {
+            return pending(request, url.queryParameter("since"), url.queryParameter("player"));
+        }
+        if ("GET".equals(method) && resource.equals("/votes/bulk")) {
+            return pending(request, null, null);
+        }
+        if ("GET".equals(method) && resource.equals("/leaderboard")) {
+            return leaderboard(parseInt(url.queryParameter("page"), 1), parseInt(url.queryParameter("per_page"), 10));
+        }
+        if ("GET".equals(method) && position.matches()) {
+            return playerPosition(position.group(1));
+        }
+        if ("POST".equals(method) && resource.equals("/stats")) {
+            return new MockResponse().setResponseCode(204);
+        }
+        if ("GET".equals(method) && resource.equals("/status")) {
+            JsonObject status = new JsonObject();
+            status.addProperty("server_id", SERVER_ID);
+            status.addProperty("name", "Serveur simulé");
+            return json(200, status);
+        }
+        if ("GET".equals(method) && resource.equals("/vote-link")) {
+            return json(200, gson.toJsonTree("http://127.0.0.1/vote/" + SERVER_ID));
+        }
+        return json(404, error("Not found"));
+    }
+
+    private boolean isAuthenticated(RecordedRequest request) {
+        return ("Bearer " + SERVER_TOKEN).equals(request.getHeader("Authorization"));
+    }
+
+    private MockResponse pair() {
+        JsonObject server = new JsonObject();
+        server.addProperty("id", Integer.parseInt(SERVER_ID));
+        server.addProperty("name", "Serveur simulé");
+        server.addProperty("slug", "serveur-simule");
+        JsonObject data = new JsonObject();
+        data.addProperty("token", SERVER_TOKEN);
+        data.add("server", server);
+        JsonObject body = new JsonObject();
+        body.addProperty("success", true);
+        body.addProperty("message", "Serveur lié");
+        body.add("data", data);
+        return json(200, body);
+    }
+
+    private MockResponse pending(RecordedRequest request, String since, String playerUuid) {
+        long after = since != null ? parseLong(since, 0) : 0;
+        JsonArray body = new JsonArray();
+        long lastId = 0;
+        for (MockVote vote : votes.tailMap(after, false).values()) {
+            if (vote.claimed.get() || (playerUuid != null && !playerUuid.equals(vote.playerUuid))) {
+                continue;
+            }
+            body.add(vote.toJson());
+            lastId = vote.id;
+        }
+
+        String etag = "\"" + lastId + "-" + body.size() + "\"";
+        if (etag.equals(request.getHeader("If-None-Match"))) {
+            return new MockResponse().setResponseCode(304).addHeader("ETag", etag);
+        }
+        return json(200, body).addHeader("ETag", etag);
+    }
+
+    /**
+     * Rejoue la réponse enregistrée pour l'Idempotency-Key de la requête, ou traite la requête
+     * et enregistre sa réponse (une seule exécution par clé, même en concurrence)
+     */
+    private MockResponse idempotent(RecordedRequest request, Supplier<StoredResponse> handler) {
+        String key = request.getHeader("Idempotency-Key");
+        if (key == null || key.isEmpty()) {
+            return handler.get().toResponse();
+        }
+        AtomicBoolean executed = new AtomicBoolean(false);
+        StoredResponse stored = idempotentResponses.computeIfAbsent(key, k -> {
+            executed.set(true);
+            return handler.get();
+        });
+        if (executed.get()) {
+            return stored.toResponse();
+        }
+        replayedClaims.increment();
+        return stored.toResponse().addHeader("Idempotent-Replayed", "true");
+    }
+
+    private StoredResponse claimOne(String voteId) {
+        MockVote vote = votes.get(parseLong(voteId, -1));
+        if (vote == null) {
+            return new StoredResponse(404, error("Vote introuvable"));
+        }
+        if (!markClaimed(vote)) {
+            return new StoredResponse(409, error("Vote déjà réclamé"));
+        }
+        JsonObject data = new JsonObject();
+        data.addProperty("vote_id", vote.id);
+        data.addProperty("minecraft_username", vote.playerName);
+        data.add("commands", commands(vote));
+        data.addProperty("streak", 1);
+        JsonObject body = new JsonObject();
+        body.addProperty("success", true);
+        body.addProperty("message", "Vote réclamé");
+        body.add("data", data);
+        return new StoredResponse(200, body);
+    }
+
+    private StoredResponse claimBatch(JsonObject request) {
+        JsonArray results = new JsonArray();
+        JsonArray ids = request != null && request.has("vote_ids") ? request.getAsJsonArray("vote_ids") : new JsonArray();
+        JsonObject keys = request != null && request.has("idempotency_keys")
+                ? request.getAsJsonObject("idempotency_keys") : new JsonObject();
+        for (JsonElement id : ids) {
+            String voteId = id.getAsString();
+            JsonElement key = keys.get(voteId);
+            if (key == null) {
+                results.add(claimResult(voteId));
+                continue;
+            }
+            // Résultat d'origine du vote s'il a déjà été réclamé avec cette clé, dans n'importe quel lot
+            AtomicBoolean executed = new AtomicBoolean(false);
+            JsonObject result = idempotentResults.computeIfAbsent(key.getAsString(), k -> {
+                executed.set(true);
+                return claimResult(voteId);
+            });
+            if (!executed.get()) {
+                replayedClaims.increment();
+            }
+            results.add(result);
+        }
+        JsonObject data = new JsonObject();
+        data.add("results", results);
+        JsonObject body = new JsonObject();
+        body.addProperty("success", true);
+        body.add("data", data);
+        return new StoredResponse(200, body);
+    }
+
+    private JsonObject claimResult(String voteId) {
+        JsonObject result = new JsonObject();
+        result.addProperty("vote_id", voteId);
+        MockVote vote = votes.get(parseLong(voteId, -1));
+        if (vote == null) {
+            result.addProperty("success", false);
+            result.addProperty("message", "Vote introuvable");
+        } else if (!markClaimed(vote)) {
+            result.addProperty("success", false);
+            result.addProperty("message", "Vote déjà réclamé");
+        } else {
+            result.addProperty("success", true);
+            result.addProperty("minecraft_username", vote.playerName);
+            result.add("commands", commands(vote));
+            result.addProperty("streak", 1);
+        }
+        return result;
+    }
+
+    private boolean markClaimed(MockVote vote) {
+        if (!vote.claimed.compareAndSet(false, true)) {
+            duplicateClaims.increment();
+            return false;
+        }
+        claimed.increment();
+        endToEnd.record(System.nanoTime() - vote.createdNanos);
+        return true;
+    }
+
+    private static JsonArray commands(MockVote vote) {
+        JsonArray commands = new JsonArray();
+        commands.add("give " + vote.playerName + " diamond 1");
+        return commands;
+    }
+
+    private MockResponse leaderboard(int page, int perPage) {
+        List<JsonObject> entries = rankedPlayers();
+        JsonArray body = new JsonArray();
+        int from = Math.max(0, (page - 1) * perPage);
+        for (int i = from; i < Math.min(entries.size(), from + perPage); i++) {
+            body.add(entries.get(i));
+        }
+        return json(200, body);
+    }
+
+    private MockResponse playerPosition(String playerUuid) {
+        for (JsonObject entry : rankedPlayers()) {
+            if (entry.get("player_uuid").getAsString().equals(playerUuid)) {
+                return json(200, entry);
+            }
+        }
+        return json(404, error("Joueur absent du classement"));
+    }
+
+    private List<JsonObject> rankedPlayers() {
+        Map<String, JsonObject> byPlayer = new HashMap<>();
+        for (MockVote vote : votes.values()) {
+            JsonObject entry = byPlayer.computeIfAbsent(vote.playerUuid, uuid -> {
+                JsonObject created = new JsonObject();
+                created.addProperty("player_uuid", uuid);
+                created.addProperty("player_name", vote.playerName);
+                created.addProperty("votes", 0);
+                return created;
+            });
+            entry.addProperty("votes", entry.get("votes").getAsInt() + 1);
+            entry.addProperty("last_vote", vote.timestamp);
+        }
+        List<JsonObject> ranked = new ArrayList<>(byPlayer.values());
+        ranked.sort(Comparator.comparingInt((JsonObject entry) -> entry.get("votes").getAsInt()).reversed());
+        for (int i = 0; i < ranked.size(); i++) {
+            ranked.get(i).addProperty("position", i + 1);
+        }
+        return ranked;
+    }
+
+    private MockResponse json(int code, JsonElement body) {
+        return new MockResponse()
+                .setResponseCode(code)
+                .addHeader("Content-Type", "application/json")
+                .setBody(gson.toJson(body));
+    }
+
+    private static JsonObject error(String message) {
+        JsonObject body = new JsonObject();
+        body.addProperty("message", message);
+        return body;
+    }
+
+    private String message(String type, JsonObject data) {
+        JsonObject message = new JsonObject();
+        message.addProperty("type", type);
+        message.add("data", data);
+        return gson.toJson(message);
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        return (int) parseLong(value, defaultValue);
+    }
+
+    private static long parseLong(String value, long defaultValue) {
+        try {
+            return value != null ? Long.parseLong(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        stream.stop(1000);
+        http.shutdown();
+    }
+
+    /**
+     * Réponse enregistrée pour une Idempotency-Key
+     */
+    private final class StoredResponse {
+        private final int code;
+        private final JsonObject body;
+
+        private StoredResponse(int code, JsonObject body) {
+            this.code = code;
+            this.body = body;
+        }
+
+        private MockResponse toResponse() {
+            return json(code, body);
+        }
+    }
+
+    /**
+     * Vote enregistré par le backend simulé
+     */
+    public static final class MockVote {
+        private final long id;
+        private final String playerName;
+        private final String playerUuid;
+        private final long timestamp = System.currentTimeMillis();
+        private final long createdNanos = System.nanoTime();
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        private MockVote(long id, String playerName) {
+            this.id = id;
+            this.playerName = playerName;
+            this.playerUuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + playerName).getBytes(StandardCharsets.UTF_8)).toString();
+        }
+
+        public String getId() {
+            return Long.toString(id);
+        }
+
+        public boolean isClaimed() {
+            return claimed.get();
+        }
+
+        private JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("id", Long.toString(id));
+            json.addProperty("player_uuid", playerUuid);
+            json.addProperty("player_name", playerName);
+            json.addProperty("service_name", "mock");
+            json.addProperty("timestamp", timestamp);
+            json.addProperty("claimed", claimed.get());
+            return json;
+        }
+    }
+
+    /**
+     * Sockets sans algorithme de Nagle: sans cela, chaque réponse attend l'ACK retardé
+     * du client (~40ms) et le backend simulé mesurerait sa propre latence au lieu de celle du plugin
+     */
+    private static final class NoDelayServerSocketFactory extends ServerSocketFactory {
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = super.accept();
+                    socket.setTcpNoDelay(true);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Flux WebSocket /server: vote.received pour chaque vote, et reprise de session
+     * (les votes non réclamés plus récents que Last-Event-ID sont rejoués à la connexion)
+     */
+    private final class VoteStream extends WebSocketServer {
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private VoteStream() {
+            super(new InetSocketAddress("127.0.0.1", 0));
+        }
+
+        @Override
+        public void onOpen(WebSocket connection, ClientHandshake handshake) {
+            if (!handshake.getResourceDescriptor().startsWith("/server")
+                    || !("Bearer " + SERVER_TOKEN).equals(handshake.getFieldValue("Authorization"))) {
+                connection.close(1008, "Unauthenticated");
+                return;
+            }
+
+            String lastEventId = handshake.getFieldValue("Last-Event-ID");
+            if (lastEventId == null || lastEventId.isEmpty()) {
+                return;
+            }
+            int replayed = 0;
+            for (MockVote vote : votes.tailMap(parseLong(lastEventId, 0), false).values()) {
+                if (!vote.claimed.get()) {
+                    connection.send(message("vote.received", vote.toJson()));
+                    replayed++;
+                }
+            }
+            JsonObject data = new JsonObject();
+            data.addProperty("replayed", replayed);
+            connection.send(message("session.resumed", data));
+        }
+
+        @Override
+        public void onClose(WebSocket connection, int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void onMessage(WebSocket connection, String message) {
+            // Seuls les pong du client arrivent ici
+        }
+
+        @Override
+        public void onError(WebSocket connection, Exception ex) {
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+    }
+}
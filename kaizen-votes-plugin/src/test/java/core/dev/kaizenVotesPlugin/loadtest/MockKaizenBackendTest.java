@@ -0,0 +1,156 @@
+package core.dev.kaizenVotesPlugin.loadtest;
+
+import core.dev.kaizenVotesPlugin.api.KaizenApiClient;
+import core.dev.kaizenVotesPlugin.api.KaizenApiClient.ApiResponse;
+import core.dev.kaizenVotesPlugin.api.models.BatchClaimResponse;
+import core.dev.kaizenVotesPlugin.api.models.ClaimResponse;
+import core.dev.kaizenVotesPlugin.api.models.LeaderboardEntry;
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Le backend simulé et les vrais clients API/WebSocket du plugin, de bout en bout
+ */
+class MockKaizenBackendTest {
+
+    private MockKaizenBackend backend;
+    private PluginFixture fixture;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        backend = new MockKaizenBackend();
+        backend.start();
+
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("api.rate-limit.enabled", false);
+        overrides.put("rewards.claim-max-attempts", 8);
+        fixture = new PluginFixture(backend, overrides);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        fixture.close();
+        backend.close();
+    }
+
+    @Test
+    void pendingVotesAreClaimedOnce() {
+        KaizenApiClient api = fixture.getApiClient();
+        for (int i = 0; i < 5; i++) {
+            backend.submitVote("Player" + i);
+        }
+
+        ApiResponse<VoteEvent[]> pending = api.getPendingVotes().join();
+        assertTrue(pending.isSuccess(), pending.getError());
+        assertEquals(5, pending.getData().length);
+
+        String voteId = pending.getData()[0].getId();
+        ApiResponse<ClaimResponse> first = api.claimVote(voteId).join();
+        assertTrue(first.isSuccess(), first.getError());
+        assertEquals(1, first.getData().getData().getCommands().length);
+
+        // Rejeu avec la même Idempotency-Key: réponse d'origine, pas de second claim
+        ApiResponse<ClaimResponse> replay = api.claimVote(voteId).join();
+        assertTrue(replay.isSuccess(), replay.getError());
+        assertEquals("true", replay.getHeader("Idempotent-Replayed"));
+        assertEquals(1, backend.getClaimedCount());
+        assertEquals(4, api.getPendingVotes().join().getData().length);
+
+        ApiResponse<LeaderboardEntry[]> leaderboard = api.getLeaderboard(1, 10).join();
+        assertTrue(leaderboard.isSuccess(), leaderboard.getError());
+        assertEquals(5, leaderboard.getData().length);
+    }
+
+    @Test
+    void webSocketVotesAreDeliveredAndClaimed() throws Exception {
+        KaizenApiClient api = fixture.getApiClient();
+        fixture.getWebSocketClient().onVoteReceived(vote -> api.claimVote(vote.getId()));
+        fixture.getWebSocketClient().connect();
+        await(() -> fixture.getWebSocketClient().isConnected());
+
+        for (int i = 0; i < 100; i++) {
+            backend.submitVote("Player" + (i % 20));
+        }
+
+        await(() -> backend.getUnclaimedCount() == 0);
+        assertEquals(100, backend.getClaimedCount());
+        assertEquals(0, backend.getDuplicateClaims());
+    }
+
+    @Test
+    void webSocketVotesDeliveredOutOfOrderAreAllClaimed() throws Exception {
+        KaizenApiClient api = fixture.getApiClient();
+        fixture.getWebSocketClient().onVoteReceived(vote -> api.claimVote(vote.getId()));
+        fixture.getWebSocketClient().connect();
+        await(() -> fixture.getWebSocketClient().isConnected());
+
+        backend.submitVotesInReverseOrder("Player1", 10);
+
+        await(() -> backend.getUnclaimedCount() == 0);
+        assertEquals(10, backend.getClaimedCount());
+    }
+
+    @Test
+    void lostClaimResponsesAreRetriedWithoutDoubleRewards() {
+        KaizenApiClient api = fixture.getApiClient();
+        List<String> voteIds = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            voteIds.add(backend.submitVote("Player" + i).getId());
+        }
+        backend.setLostResponseRate(0.2);
+
+        List<CompletableFuture<ApiResponse<ClaimResponse>>> claims = new ArrayList<>();
+        for (String voteId : voteIds) {
+            claims.add(api.claimVote(voteId));
+        }
+        for (CompletableFuture<ApiResponse<ClaimResponse>> claim : claims) {
+            ApiResponse<ClaimResponse> response = claim.join();
+            assertTrue(response.isSuccess(), response.getError());
+        }
+
+        assertEquals(30, backend.getClaimedCount());
+        assertEquals(0, backend.getDuplicateClaims());
+        assertEquals(backend.getLostResponses(), backend.getReplayedClaims());
+    }
+
+    @Test
+    void voteResentInAnotherBatchReceivesItsOriginalResult() {
+        KaizenApiClient api = fixture.getApiClient();
+        String first = backend.submitVote("Player1").getId();
+        String second = backend.submitVote("Player2").getId();
+
+        ApiResponse<BatchClaimResponse> batch = api.claimVotes(List.of(first)).join();
+        assertTrue(batch.isSuccess(), batch.getError());
+
+        // Réponse perdue: le vote repart dans un lot au contenu différent
+        ApiResponse<BatchClaimResponse> resent = api.claimVotes(List.of(first, second)).join();
+        assertTrue(resent.isSuccess(), resent.getError());
+        for (BatchClaimResponse.ClaimResult result : resent.getData().getData().getResults()) {
+            assertTrue(result.isSuccess(), result.getVoteId());
+        }
+        assertEquals(2, backend.getClaimedCount());
+        assertEquals(0, backend.getDuplicateClaims());
+        assertEquals(1, backend.getReplayedClaims());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Délai dépassé");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package core.dev.kaizenVotesPlugin.loadtest;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.KaizenApiClient;
+import core.dev.kaizenVotesPlugin.api.KaizenWebSocketClient;
+import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import core.dev.kaizenVotesPlugin.metrics.VoteMetrics;
+import core.dev.kaizenVotesPlugin.utils.AsyncExecutor;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Plugin minimal hors serveur: les vrais KaizenApiClient et KaizenWebSocketClient,
+ * branchés sur le config.yml du plugin (pointé vers le backend simulé) et sur un
+ * thread principal simulé qui exécute les tâches synchrones toutes les 50ms.
+ */
+public class PluginFixture implements AutoCloseable {
+
+    private static final long TICK_MILLIS = 50L;
+
+    private final ScheduledExecutorService mainThread = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(runnable, "Server thread"));
+    private final KaizenVotesPlugin plugin = mock(KaizenVotesPlugin.class);
+    private final AsyncExecutor asyncExecutor;
+    private final KaizenApiClient apiClient;
+    private final KaizenWebSocketClient webSocketClient;
+
+    /**
+     * @param backend Backend simulé démarré
+     * @param overrides Valeurs de config.yml à remplacer (ex: "api.rate-limit.enabled" -> false)
+     */
+    public PluginFixture(MockKaizenBackend backend, Map<String, Object> overrides) {
+        YamlConfiguration config = loadDefaultConfig();
+        config.set("api.base-url", backend.getBaseUrl());
+        config.set("api.websocket-url", backend.getWebSocketUrl());
+        config.set("auth.server-token", MockKaizenBackend.SERVER_TOKEN);
+        config.set("auth.server-id", MockKaizenBackend.SERVER_ID);
+        config.set("performance.virtual-threads", true);
+        overrides.forEach(config::set);
+
+        Logger logger = Logger.getLogger("KaizenVotes");
+        logger.setLevel(Level.WARNING);
+
+        Server server = mockServer();
+        when(plugin.getConfig()).thenReturn(config);
+        when(plugin.getLogger()).thenReturn(logger);
+        when(plugin.getServer()).thenReturn(server);
+
+        ConfigManager configManager = new ConfigManager(plugin);
+        when(plugin.getConfigManager()).thenReturn(configManager);
+        VoteMetrics voteMetrics = new VoteMetrics();
+        when(plugin.getVoteMetrics()).thenReturn(voteMetrics);
+        asyncExecutor = new AsyncExecutor(plugin, true);
+        when(plugin.getAsyncExecutor()).thenReturn(asyncExecutor);
+
+        apiClient = new KaizenApiClient(plugin);
+        when(plugin.getApiClient()).thenReturn(apiClient);
+        webSocketClient = new KaizenWebSocketClient(plugin);
+        when(plugin.getWebSocketClient()).thenReturn(webSocketClient);
+    }
+
+    private static YamlConfiguration loadDefaultConfig() {
+        try (Reader reader = new InputStreamReader(Objects.requireNonNull(
+                PluginFixture.class.getResourceAsStream("/config.yml"), "config.yml absent du classpath"),
+                StandardCharsets.UTF_8)) {
+            return YamlConfiguration.loadConfiguration(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Lecture de config.yml impossible", e);
+        }
+    }
+
+    /**
+     * Serveur dont le scheduler exécute les tâches synchrones sur le thread principal simulé
+     */
+    private Server mockServer() {
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        when(scheduler.runTask(any(), any(Runnable.class))).thenAnswer(invocation ->
+                task(mainThread.submit(invocation.<Runnable>getArgument(1))));
+        when(scheduler.runTaskLater(any(), any(Runnable.class), anyLong())).thenAnswer(invocation ->
+                task(mainThread.schedule(invocation.<Runnable>getArgument(1),
+                        invocation.<Long>getArgument(2) * TICK_MILLIS, TimeUnit.MILLISECONDS)));
+        when(scheduler.runTaskTimer(any(), any(Runnable.class), anyLong(), anyLong())).thenAnswer(invocation ->
+                task(mainThread.scheduleAtFixedRate(invocation.<Runnable>getArgument(1),
+                        invocation.<Long>getArgument(2) * TICK_MILLIS,
+                        Math.max(1L, invocation.<Long>getArgument(3)) * TICK_MILLIS, TimeUnit.MILLISECONDS)));
+
+        Server server = mock(Server.class);
+        when(server.getScheduler()).thenReturn(scheduler);
+        return server;
+    }
+
+    private static BukkitTask task(Future<?> future) {
+        BukkitTask task = mock(BukkitTask.class);
+        doAnswer(invocation -> future.cancel(false)).when(task).cancel();
+        when(task.isCancelled()).thenAnswer(invocation -> future.isCancelled());
+        return task;
+    }
+
+    public KaizenVotesPlugin getPlugin() {
+        return plugin;
+    }
+
+    public KaizenApiClient getApiClient() {
+        return apiClient;
+    }
+
+    public KaizenWebSocketClient getWebSocketClient() {
+        return webSocketClient;
+    }
+
+    public VoteMetrics getVoteMetrics() {
+        return plugin.getVoteMetrics();
+    }
+
+    @Override
+    public void close() {
+        webSocketClient.disconnect();
+        apiClient.shutdown();
+        asyncExecutor.shutdown();
+        mainThread.shutdownNow();
+    }
+}
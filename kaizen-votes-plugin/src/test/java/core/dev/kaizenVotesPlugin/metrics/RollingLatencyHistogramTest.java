@@ -0,0 +1,47 @@
+package core.dev.kaizenVotesPlugin.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RollingLatencyHistogramTest {
+
+    @Test
+    void percentileCoversRecentMeasures() {
+        RollingLatencyHistogram histogram = new RollingLatencyHistogram(60_000L);
+        for (int i = 0; i < 95; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        for (int i = 0; i < 5; i++) {
+            histogram.record(TimeUnit.SECONDS.toNanos(5));
+        }
+
+        assertEquals(100, histogram.getCount());
+        long p95 = histogram.getPercentileMicros(95);
+        assertTrue(p95 >= 10_000 && p95 < 13_000, "p95 = " + p95);
+        assertTrue(histogram.getPercentileMicros(99) >= 4_000_000);
+    }
+
+    @Test
+    void slowPeriodIsForgottenAfterTwoWindows() throws InterruptedException {
+        RollingLatencyHistogram histogram = new RollingLatencyHistogram(200L);
+        for (int i = 0; i < 20; i++) {
+            histogram.record(TimeUnit.SECONDS.toNanos(5));
+        }
+
+        // Une fenêtre plus tard: la période lente compte encore (génération précédente)
+        Thread.sleep(250L);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(21, histogram.getCount());
+        assertTrue(histogram.getPercentileMicros(95) >= 4_000_000);
+
+        // Deux fenêtres plus tard: seules les mesures récentes restent
+        Thread.sleep(250L);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(2, histogram.getCount());
+        assertTrue(histogram.getPercentileMicros(95) < 13_000);
+    }
+}
@@ -0,0 +1,223 @@
+package core.dev.kaizenVotesPlugin.rewards;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import core.dev.kaizenVotesPlugin.utils.AsyncExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClaimJournalTest {
+
+    private static final String UUID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+    @TempDir
+    File dataFolder;
+
+    private KaizenVotesPlugin plugin;
+    private ConfigManager config;
+    private ClaimJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        Logger logger = Logger.getLogger("KaizenVotes");
+        logger.setLevel(Level.SEVERE);
+
+        config = mock(ConfigManager.class);
+        when(config.getRewardExpirationDays()).thenReturn(30);
+
+        plugin = mock(KaizenVotesPlugin.class);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        when(plugin.getLogger()).thenReturn(logger);
+        when(plugin.getConfigManager()).thenReturn(config);
+        when(plugin.getAsyncExecutor()).thenReturn(mock(AsyncExecutor.class));
+
+        journal = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.stop();
+    }
+
+    @Test
+    void unfinishedClaimsSurviveRestart() {
+        journal.requested("1", UUID, "Alice");
+        journal.acknowledged("1", new String[] {"give Alice diamond", "say merci"});
+        journal.progress("1", 1);
+        journal.requested("2", UUID, "Alice");
+        journal.completed("2");
+        journal.requested("3", UUID, "Alice");
+        journal.failed("3");
+
+        journal = restart();
+
+        assertEquals(1, journal.getUnfinishedCount());
+        List<ClaimJournal.Entry> recovered = journal.takeRecoverable(UUID, "Alice");
+        assertEquals(1, recovered.size());
+        ClaimJournal.Entry entry = recovered.get(0);
+        assertEquals("1", entry.getVoteId());
+        assertArrayEquals(new String[] {"give Alice diamond", "say merci"}, entry.getCommands());
+        assertEquals(1, entry.getExecuted());
+    }
+
+    @Test
+    void acknowledgedClaimIsNotDroppedByFailure() {
+        journal.requested("1", UUID, "Alice");
+        journal.acknowledged("1", new String[] {"say merci"});
+
+        journal.failed("1");
+
+        assertEquals(1, journal.getUnfinishedCount());
+    }
+
+    @Test
+    void onlyReleasedClaimsAreRecoverable() {
+        journal.requested("1", UUID, "Alice");
+        assertTrue(journal.takeRecoverable(UUID, "Alice").isEmpty());
+
+        journal.release("1");
+
+        // Par nom, sans tirets ni casse: un même joueur
+        assertEquals(1, journal.takeRecoverable(UUID.replace("-", "").toUpperCase(), null).size());
+        assertTrue(journal.takeRecoverable(UUID, "Alice").isEmpty());
+    }
+
+    @Test
+    void fullFileIsReplacedByTheMaintenanceTaskOnly() {
+        File before = singleJournalFile();
+        long sizeBefore = before.length();
+        String command = "say " + "x".repeat(4000);
+
+        // Bien au-delà du 1 Mo initial
+        for (int i = 0; i < 400; i++) {
+            journal.requested(Integer.toString(i), UUID, "Alice");
+            journal.acknowledged(Integer.toString(i), new String[] {command});
+        }
+
+        // Aucun fichier créé ni agrandi par les écritures
+        assertEquals(before.getName(), singleJournalFile().getName());
+        assertEquals(sizeBefore, before.length());
+
+        // Réécriture dans un fichier plus grand, puis suppression de l'ancien une fois le nouveau synchronisé
+        runMaintenance();
+        runMaintenance();
+
+        File after = singleJournalFile();
+        assertNotEquals(before.getName(), after.getName());
+        assertTrue(after.length() > sizeBefore);
+
+        journal = restart();
+        assertEquals(400, journal.getUnfinishedCount());
+    }
+
+    @Test
+    void recordsWaitingForANewFileAreWrittenOnStop() {
+        String command = "say " + "x".repeat(4000);
+        for (int i = 0; i < 400; i++) {
+            journal.requested(Integer.toString(i), UUID, "Alice");
+            journal.acknowledged(Integer.toString(i), new String[] {command});
+        }
+        journal.progress("399", 1);
+
+        journal = restart();
+
+        assertEquals(400, journal.getUnfinishedCount());
+        journal.release("399");
+        assertEquals(1, journal.takeRecoverable(UUID, "Alice").stream()
+                .filter(entry -> entry.getVoteId().equals("399") && entry.getExecuted() == 1).count());
+    }
+
+    @Test
+    void compactionKeepsOnlyUnfinishedClaims() {
+        String command = "say " + "x".repeat(1000);
+        for (int i = 0; i < 600; i++) {
+            journal.requested(Integer.toString(i), UUID, "Alice");
+            journal.acknowledged(Integer.toString(i), new String[] {command});
+            if (i % 10 != 0) {
+                journal.completed(Integer.toString(i));
+            }
+        }
+        File before = singleJournalFile();
+
+        runMaintenance();
+        runMaintenance();
+
+        assertNotEquals(before.getName(), singleJournalFile().getName());
+        journal = restart();
+        assertEquals(60, journal.getUnfinishedCount());
+    }
+
+    @Test
+    void claimsNotResumedBeforeExpirationAreDropped() {
+        journal.requested("1", UUID, "Alice");
+        journal.release("1");
+        journal.requested("2", UUID, "Alice");
+
+        journal.expire(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(31));
+
+        // Le claim en cours de traitement n'expire pas
+        assertEquals(1, journal.getUnfinishedCount());
+        journal = restart();
+        assertEquals("2", journal.takeRecoverable(UUID, "Alice").get(0).getVoteId());
+    }
+
+    @Test
+    void expirationCanBeDisabled() {
+        when(config.getRewardExpirationDays()).thenReturn(0);
+        journal.requested("1", UUID, "Alice");
+        journal.release("1");
+
+        journal.expire(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(3650));
+
+        assertEquals(1, journal.getUnfinishedCount());
+    }
+
+    private ClaimJournal open() {
+        ClaimJournal opened = new ClaimJournal(plugin);
+        opened.start();
+        return opened;
+    }
+
+    private ClaimJournal restart() {
+        journal.stop();
+        return open();
+    }
+
+    /**
+     * Exécute la tâche de fond du journal courant (synchronisation, libération, compaction)
+     */
+    private void runMaintenance() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(plugin.getAsyncExecutor(), atLeastOnce()).runTimer(task.capture(), anyLong(), anyLong());
+        task.getValue().run();
+    }
+
+    private File singleJournalFile() {
+        File[] files = new File(dataFolder, "journal").listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length, Arrays.toString(files));
+        return files[0];
+    }
+}
@@ -0,0 +1,202 @@
+package core.dev.kaizenVotesPlugin.rewards;
+
+import com.google.gson.Gson;
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.KaizenApiClient;
+import core.dev.kaizenVotesPlugin.api.KaizenApiClient.ApiResponse;
+import core.dev.kaizenVotesPlugin.api.models.BatchClaimResponse;
+import core.dev.kaizenVotesPlugin.api.models.ClaimResponse;
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import core.dev.kaizenVotesPlugin.metrics.VoteMetrics;
+import core.dev.kaizenVotesPlugin.utils.AsyncExecutor;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Claim groupé de RewardManager: chaque vote demandé est terminé ou libéré,
+ * et le support du claim groupé n'est décidé qu'une fois
+ */
+class RewardManagerBatchClaimTest {
+
+    @TempDir
+    File dataFolder;
+
+    private final List<Runnable> nextTick = new ArrayList<>();
+    private KaizenApiClient api;
+    private PendingVoteStore pendingVotes;
+    private Player player;
+    private RewardManager rewardManager;
+
+    @BeforeEach
+    void setUp() {
+        Logger logger = Logger.getLogger("KaizenVotes");
+        logger.setLevel(Level.SEVERE);
+
+        ConfigManager config = mock(ConfigManager.class);
+        when(config.getVoteDedupWindow()).thenReturn(600);
+        when(config.getRewardExpirationDays()).thenReturn(30);
+
+        // Tâches du thread principal exécutées à la demande (un tick)
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        when(scheduler.runTask(any(), any(Runnable.class))).thenAnswer(invocation -> {
+            nextTick.add(invocation.getArgument(1));
+            return null;
+        });
+        Server server = mock(Server.class);
+        when(server.getScheduler()).thenReturn(scheduler);
+
+        api = mock(KaizenApiClient.class);
+        KaizenVotesPlugin plugin = mock(KaizenVotesPlugin.class);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        when(plugin.getLogger()).thenReturn(logger);
+        when(plugin.getConfigManager()).thenReturn(config);
+        when(plugin.getServer()).thenReturn(server);
+        when(plugin.getAsyncExecutor()).thenReturn(mock(AsyncExecutor.class));
+        when(plugin.getApiClient()).thenReturn(api);
+        when(plugin.getVoteMetrics()).thenReturn(new VoteMetrics());
+        pendingVotes = mock(PendingVoteStore.class);
+        when(plugin.getPendingVoteStore()).thenReturn(pendingVotes);
+
+        player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e"));
+        when(player.getName()).thenReturn("Alice");
+
+        rewardManager = new RewardManager(plugin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rewardManager.shutdown();
+    }
+
+    @Test
+    void votesMissingFromTheResultsAreReleased() {
+        when(api.claimVotes(anyList())).thenReturn(batch(
+                "{\"vote_id\":\"1\",\"success\":true,\"commands\":[]}",
+                "{\"vote_id\":\"2\",\"success\":false,\"message\":\"Vote already claimed\"}"));
+
+        claim("1", "2", "3");
+
+        ClaimJournal journal = rewardManager.getJournal();
+        assertEquals(1, journal.getUnfinishedCount());
+        List<ClaimJournal.Entry> recoverable = journal.takeRecoverable(player.getUniqueId().toString(), "Alice");
+        assertEquals(1, recoverable.size());
+        assertEquals("3", recoverable.get(0).getVoteId());
+
+        // Seul le vote sans résultat peut être réclamé de nouveau
+        assertFalse(rewardManager.claimRewards(player, vote("1")));
+        assertFalse(rewardManager.claimRewards(player, vote("2")));
+        assertTrue(rewardManager.claimRewards(player, vote("3")));
+    }
+
+    @Test
+    void failedBatchReleasesEveryVote() {
+        when(api.claimVotes(anyList())).thenReturn(
+                CompletableFuture.completedFuture(ApiResponse.error("Erreur serveur", 500)));
+
+        claim("1", "2");
+
+        assertEquals(2, rewardManager.getJournal().takeRecoverable(null, "Alice").size());
+        assertTrue(rewardManager.claimRewards(player, vote("1")));
+        verify(api, never()).claimVote(anyString());
+    }
+
+    @Test
+    void firstNotFoundSwitchesToSingleClaimsForGood() {
+        when(api.claimVotes(anyList())).thenReturn(
+                CompletableFuture.completedFuture(ApiResponse.error("Not found", 404)));
+        when(api.claimVote(anyString())).thenReturn(
+                CompletableFuture.completedFuture(ApiResponse.<ClaimResponse>error("Vote already claimed", 409)));
+
+        claim("1", "2");
+        claim("3");
+
+        verify(api, times(1)).claimVotes(anyList());
+        verify(api).claimVote("1");
+        verify(api).claimVote("2");
+        verify(api).claimVote("3");
+        assertEquals(0, rewardManager.getJournal().getUnfinishedCount());
+    }
+
+    @Test
+    void notFoundAfterASuccessfulBatchIsAnError() {
+        when(api.claimVotes(anyList()))
+                .thenReturn(batch("{\"vote_id\":\"1\",\"success\":true,\"commands\":[]}"))
+                .thenReturn(CompletableFuture.completedFuture(ApiResponse.error("Server not found", 404)));
+
+        claim("1");
+        claim("2");
+
+        verify(api, never()).claimVote(anyString());
+        assertEquals("2", rewardManager.getJournal().takeRecoverable(null, "Alice").get(0).getVoteId());
+        assertTrue(rewardManager.claimRewards(player, vote("2")));
+    }
+
+    @Test
+    void storedVotesAreClaimedInOneBatchWhenThePlayerJoins() {
+        List<VoteEvent> stored = List.of(vote("1"), vote("2"));
+        when(pendingVotes.getPendingVotes(player)).thenReturn(stored);
+        when(api.claimVotes(anyList())).thenReturn(batch(
+                "{\"vote_id\":\"1\",\"success\":true,\"commands\":[]}",
+                "{\"vote_id\":\"2\",\"success\":true,\"commands\":[]}"));
+
+        assertEquals(2, rewardManager.claimPendingVotes(player));
+        claim();
+
+        verify(api).claimVotes(List.of("1", "2"));
+        assertEquals(0, rewardManager.getJournal().getUnfinishedCount());
+        // Déjà réclamés: une seconde connexion ne les renvoie pas
+        assertEquals(0, rewardManager.claimPendingVotes(player));
+    }
+
+    /**
+     * Réclame les votes pendant un tick puis exécute l'envoi groupé
+     */
+    private void claim(String... voteIds) {
+        for (String voteId : voteIds) {
+            assertTrue(rewardManager.claimRewards(player, vote(voteId)));
+        }
+        List<Runnable> tasks = new ArrayList<>(nextTick);
+        nextTick.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private VoteEvent vote(String voteId) {
+        VoteEvent vote = new VoteEvent();
+        vote.setId(voteId);
+        vote.setPlayerUuid(player.getUniqueId().toString());
+        vote.setPlayerName(player.getName());
+        return vote;
+    }
+
+    private static CompletableFuture<ApiResponse<BatchClaimResponse>> batch(String... results) {
+        String json = "{\"success\":true,\"data\":{\"results\":[" + String.join(",", results) + "]}}";
+        return CompletableFuture.completedFuture(ApiResponse.success(new Gson().fromJson(json, BatchClaimResponse.class)));
+    }
+}
@@ -0,0 +1,126 @@
+package core.dev.kaizenVotesPlugin.stats;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.KaizenApiClient;
+import core.dev.kaizenVotesPlugin.api.KaizenApiClient.ApiResponse;
+import core.dev.kaizenVotesPlugin.api.models.LeaderboardEntry;
+import core.dev.kaizenVotesPlugin.config.ConfigManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaderboardCacheTest {
+
+    private static final int PER_PAGE = 2;
+
+    private KaizenApiClient api;
+    private ConfigManager config;
+    private LeaderboardCache cache;
+
+    @BeforeEach
+    void setUp() {
+        api = mock(KaizenApiClient.class);
+        config = mock(ConfigManager.class);
+        when(config.getLeaderboardCacheTtl()).thenReturn(60);
+
+        KaizenVotesPlugin plugin = mock(KaizenVotesPlugin.class);
+        when(plugin.getApiClient()).thenReturn(api);
+        when(plugin.getConfigManager()).thenReturn(config);
+
+        cache = new LeaderboardCache(plugin, PER_PAGE);
+    }
+
+    @Test
+    void concurrentRequestsShareOneFetch() {
+        CompletableFuture<ApiResponse<LeaderboardEntry[]>> pending = new CompletableFuture<>();
+        when(api.getLeaderboard(1, PER_PAGE)).thenReturn(pending);
+
+        CompletableFuture<ApiResponse<LeaderboardEntry[]>> first = cache.getPage(1);
+        CompletableFuture<ApiResponse<LeaderboardEntry[]>> second = cache.getPage(1);
+
+        assertSame(first, second);
+        verify(api, times(1)).getLeaderboard(1, PER_PAGE);
+    }
+
+    @Test
+    void freshPageIsServedWithoutFetching() {
+        when(api.getLeaderboard(1, PER_PAGE)).thenReturn(page(1));
+
+        cache.getPage(1).join();
+        ApiResponse<LeaderboardEntry[]> cached = cache.getPage(1).join();
+
+        assertTrue(cached.isSuccess());
+        assertEquals(1, cached.getData().length);
+        verify(api, times(1)).getLeaderboard(1, PER_PAGE);
+    }
+
+    @Test
+    void expiredPageIsServedWhileOneRefreshRuns() {
+        when(config.getLeaderboardCacheTtl()).thenReturn(0);
+        when(api.getLeaderboard(1, PER_PAGE)).thenReturn(page(1));
+        cache.getPage(1).join();
+
+        CompletableFuture<ApiResponse<LeaderboardEntry[]>> refresh = new CompletableFuture<>();
+        when(api.getLeaderboard(1, PER_PAGE)).thenReturn(refresh);
+        CompletableFuture<ApiResponse<LeaderboardEntry[]>> stale = cache.getPage(1);
+        cache.getPage(1);
+
+        // Version expirée servie aussitôt, un seul rafraîchissement en vol
+        assertTrue(stale.isDone());
+        assertEquals(1, stale.join().getData().length);
+        verify(api, times(2)).getLeaderboard(1, PER_PAGE);
+
+        refresh.complete(ApiResponse.success(entries(0)));
+        assertEquals(0, cache.getPage(1).join().getData().length);
+    }
+
+    @Test
+    void fullPagePrefetchesTheNextOne() {
+        when(api.getLeaderboard(1, PER_PAGE)).thenReturn(page(PER_PAGE));
+        when(api.getLeaderboard(2, PER_PAGE)).thenReturn(page(1));
+
+        cache.getPage(1).join();
+
+        verify(api, times(1)).getLeaderboard(2, PER_PAGE);
+        verify(api, never()).getLeaderboard(3, PER_PAGE);
+        cache.getPage(2).join();
+        verify(api, times(1)).getLeaderboard(2, PER_PAGE);
+    }
+
+    @Test
+    void failedFetchIsNotCached() {
+        when(api.getLeaderboard(anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(ApiResponse.error("Erreur", 500)));
+
+        assertFalse(cache.getPage(1).join().isSuccess());
+        assertFalse(cache.getPage(1).join().isSuccess());
+
+        verify(api, times(2)).getLeaderboard(1, PER_PAGE);
+    }
+
+    private static CompletableFuture<ApiResponse<LeaderboardEntry[]>> page(int size) {
+        return CompletableFuture.completedFuture(ApiResponse.success(entries(size)));
+    }
+
+    private static LeaderboardEntry[] entries(int size) {
+        LeaderboardEntry[] entries = new LeaderboardEntry[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = new LeaderboardEntry();
+            entries[i].setPosition(i + 1);
+            entries[i].setPlayerName("Player" + i);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,72 @@
+package core.dev.kaizenVotesPlugin.stats;
+
+import core.dev.kaizenVotesPlugin.KaizenVotesPlugin;
+import core.dev.kaizenVotesPlugin.api.models.VoteEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VotePollCursorTest {
+
+    @TempDir
+    File dataFolder;
+
+    private KaizenVotesPlugin plugin;
+    private VotePollCursor cursor;
+
+    @BeforeEach
+    void setUp() {
+        plugin = mock(KaizenVotesPlugin.class);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        cursor = new VotePollCursor(plugin);
+        cursor.load("1");
+    }
+
+    @Test
+    void cursorOnlyMovesForward() {
+        cursor.observe(vote("105"));
+        cursor.observe(vote("104"));
+
+        assertEquals("105", cursor.getLastVoteId());
+    }
+
+    @Test
+    void pollStartsBeforeTheCursorByTheMargin() {
+        assertNull(cursor.getPollFrom(50));
+
+        cursor.observe(vote("105"));
+        assertEquals("55", cursor.getPollFrom(50));
+        assertEquals("105", cursor.getPollFrom(0));
+
+        // Marge plus grande que le curseur: tout est relu
+        assertNull(cursor.getPollFrom(200));
+    }
+
+    @Test
+    void cursorSurvivesARestartOfTheSameServer() {
+        cursor.observe(vote("42"));
+        cursor.commit("\"etag\"");
+
+        VotePollCursor reloaded = new VotePollCursor(plugin);
+        reloaded.load("1");
+        assertEquals("42", reloaded.getLastVoteId());
+        assertEquals("\"etag\"", reloaded.getEtag());
+
+        VotePollCursor otherServer = new VotePollCursor(plugin);
+        otherServer.load("2");
+        assertNull(otherServer.getLastVoteId());
+    }
+
+    private static VoteEvent vote(String id) {
+        VoteEvent vote = new VoteEvent();
+        vote.setId(id);
+        return vote;
+    }
+}
@@ -0,0 +1,57 @@
+package core.dev.kaizenVotesPlugin.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecentVoteFilterTest {
+
+    @Test
+    void duplicateIsRejectedUntilForgotten() {
+        RecentVoteFilter filter = new RecentVoteFilter(60_000L, 100);
+
+        assertTrue(filter.firstSeen("1"));
+        assertFalse(filter.firstSeen("1"));
+
+        filter.forget("1");
+        assertTrue(filter.firstSeen("1"));
+    }
+
+    @Test
+    void nullIsAlwaysAccepted() {
+        RecentVoteFilter filter = new RecentVoteFilter(60_000L, 100);
+
+        assertTrue(filter.firstSeen(null));
+        assertTrue(filter.firstSeen(null));
+        assertEquals(0, filter.size());
+    }
+
+    @Test
+    void fullGenerationKeepsIdsForOneMoreGeneration() {
+        RecentVoteFilter filter = new RecentVoteFilter(60_000L, 2);
+        filter.firstSeen("a");
+        filter.firstSeen("b");
+
+        // Génération pleine: a et b passent dans la génération précédente
+        assertTrue(filter.firstSeen("c"));
+        assertFalse(filter.firstSeen("a"));
+
+        // Nouvelle rotation: la génération de a est abandonnée
+        filter.firstSeen("d");
+        filter.firstSeen("e");
+        assertFalse(filter.firstSeen("c"));
+        assertTrue(filter.firstSeen("a"));
+    }
+
+    @Test
+    void idsExpireAfterTwoQuietWindows() throws InterruptedException {
+        RecentVoteFilter filter = new RecentVoteFilter(20L, 100);
+        filter.firstSeen("1");
+
+        Thread.sleep(60L);
+
+        assertTrue(filter.firstSeen("1"));
+    }
+}